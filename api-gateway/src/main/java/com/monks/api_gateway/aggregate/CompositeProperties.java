@@ -0,0 +1,28 @@
+package com.monks.api_gateway.aggregate;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param userTimeout   budget for the user-service call
+ * @param ordersTimeout budget for the order-service call
+ * @param recentOrders  orders included when the client does not ask for a number
+ * @param maxOrders     upper bound for {@code ?orders=}
+ */
+@ConfigurationProperties("shopping.gateway.composite")
+public record CompositeProperties(
+        @DefaultValue("1s") Duration userTimeout,
+        @DefaultValue("2s") Duration ordersTimeout,
+        @DefaultValue("10") int recentOrders,
+        @DefaultValue("50") int maxOrders) {
+
+    // 0 skips the order-service call entirely
+    public int orderCount(Integer requested) {
+        if (requested == null) {
+            return recentOrders;
+        }
+        return Math.max(0, Math.min(requested, maxOrders));
+    }
+}
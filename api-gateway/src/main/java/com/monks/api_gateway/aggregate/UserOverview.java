@@ -0,0 +1,13 @@
+package com.monks.api_gateway.aggregate;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.Map;
+
+/**
+ * A user and their most recent orders (summary view, newest first). A part that could not be fetched
+ * in time is null, and {@code errors} says why.
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record UserOverview(Object user, Object recentOrders, Map<String, String> errors) {
+}
@@ -0,0 +1,85 @@
+package com.monks.api_gateway.aggregate;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Fetches a user and their recent orders from the two services in parallel with the caller's token,
+ * each call under its own timeout. One failed call still yields the other half; only a missing
+ * user (404) or two failed calls fail the whole request.
+ */
+public class UserOverviewService {
+
+    private final WebClient webClient;
+    private final CompositeProperties properties;
+
+    public UserOverviewService(WebClient loadBalancedWebClient, CompositeProperties properties) {
+        this.webClient = loadBalancedWebClient;
+        this.properties = properties;
+    }
+
+    public Mono<UserOverview> overview(String userId, Integer orders, String bearerToken) {
+        int size = properties.orderCount(orders);
+        Mono<Leg> user = leg(webClient.get()
+                .uri("http://user-service/api/users/{id}", userId)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + bearerToken), properties.userTimeout());
+        Mono<Leg> recentOrders = size == 0 ? Mono.just(Leg.EMPTY) : leg(webClient.get()
+                .uri("http://order-service/api/orders/customer/{id}?view=summary&size={size}", userId, size)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + bearerToken), properties.ordersTimeout());
+
+        return Mono.zip(user, recentOrders).map(legs -> {
+            Leg userLeg = legs.getT1();
+            Leg ordersLeg = legs.getT2();
+            if (userLeg.error() == null && userLeg.body().isEmpty()) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "User " + userId + " not found");
+            }
+            if (userLeg.error() != null && ordersLeg.error() != null) {
+                throw new ResponseStatusException(HttpStatus.BAD_GATEWAY,
+                        "user: " + userLeg.error() + ", orders: " + ordersLeg.error());
+            }
+            Map<String, String> errors = new LinkedHashMap<>();
+            if (userLeg.error() != null) {
+                errors.put("user", userLeg.error());
+            }
+            if (ordersLeg.error() != null) {
+                errors.put("recentOrders", ordersLeg.error());
+            }
+            return new UserOverview(userLeg.body().orElse(null), ordersLeg.body().orElse(null), errors);
+        });
+    }
+
+    // Never fails: a leg's error is captured so the other leg's result survives
+    private static Mono<Leg> leg(WebClient.RequestHeadersSpec<?> request, Duration timeout) {
+        return request.retrieve()
+                .bodyToMono(Object.class)
+                .map(body -> new Leg(Optional.of(body), null))
+                .defaultIfEmpty(Leg.EMPTY)
+                .timeout(timeout)
+                .onErrorResume(WebClientResponseException.NotFound.class, ex -> Mono.just(Leg.EMPTY))
+                .onErrorResume(ex -> Mono.just(new Leg(Optional.empty(), describe(ex))));
+    }
+
+    private static String describe(Throwable ex) {
+        if (ex instanceof TimeoutException) {
+            return "timed out";
+        }
+        if (ex instanceof WebClientResponseException response) {
+            return "status " + response.getStatusCode().value();
+        }
+        return "unavailable";
+    }
+
+    private record Leg(Optional<Object> body, String error) {
+        private static final Leg EMPTY = new Leg(Optional.empty(), null);
+    }
+}
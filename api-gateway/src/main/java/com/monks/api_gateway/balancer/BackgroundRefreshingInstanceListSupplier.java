@@ -0,0 +1,70 @@
+package com.monks.api_gateway.balancer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Serves the last instance list fetched from discovery and refreshes it on a timer, so no request
+ * waits on Consul after the first one. A failed refresh keeps the previous list.
+ */
+public class BackgroundRefreshingInstanceListSupplier extends DelegatingServiceInstanceListSupplier {
+
+    private static final Logger log = LoggerFactory.getLogger(BackgroundRefreshingInstanceListSupplier.class);
+
+    private final Duration refreshInterval;
+    private volatile List<ServiceInstance> instances;
+    private Disposable refresher;
+
+    public BackgroundRefreshingInstanceListSupplier(ServiceInstanceListSupplier delegate, Duration refreshInterval) {
+        super(delegate);
+        this.refreshInterval = refreshInterval;
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        List<ServiceInstance> current = instances;
+        if (current != null) {
+            return Flux.just(current);
+        }
+        return fetch().flux();
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get(Request request) {
+        return get();
+    }
+
+    @Override
+    public void afterPropertiesSet() throws Exception {
+        super.afterPropertiesSet();
+        refresher = Flux.interval(Duration.ZERO, refreshInterval)
+                .concatMap(tick -> fetch().onErrorResume(ex -> {
+                    log.warn("Refreshing instances of {} failed, keeping the previous list: {}",
+                            getServiceId(), ex.getMessage());
+                    return Mono.empty();
+                }))
+                .subscribe();
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (refresher != null) {
+            refresher.dispose();
+        }
+        super.destroy();
+    }
+
+    private Mono<List<ServiceInstance>> fetch() {
+        return getDelegate().get().next().doOnNext(fetched -> instances = fetched);
+    }
+}
@@ -0,0 +1,20 @@
+package com.monks.api_gateway.balancer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param decayTime               how fast old latency samples fade from an instance's EWMA
+ * @param initialLatency          assumed latency of an instance without samples yet
+ * @param failurePenalty          latency recorded for a failed call, so fast failures do not attract traffic
+ * @param instanceRefreshInterval how often the instance list is fetched from discovery in the background
+ */
+@ConfigurationProperties("shopping.gateway.load-balancer")
+public record BalancerProperties(
+        @DefaultValue("10s") Duration decayTime,
+        @DefaultValue("50ms") Duration initialLatency,
+        @DefaultValue("1s") Duration failurePenalty,
+        @DefaultValue("15s") Duration instanceRefreshInterval) {
+}
@@ -0,0 +1,74 @@
+package com.monks.api_gateway.balancer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.time.Duration;
+
+/**
+ * Latency EWMA and in-flight count per backend instance, as seen by this gateway. The EWMA decays
+ * by elapsed time rather than by sample count, so an instance that stopped getting traffic after a
+ * slow spell is retried once its bad samples have aged out.
+ */
+public class InstanceLoadStats {
+
+    private final Cache<String, Stats> stats;
+    private final double decayNanos;
+    private final long initialLatencyNanos;
+
+    public InstanceLoadStats(BalancerProperties properties) {
+        this.decayNanos = properties.decayTime().toNanos();
+        this.initialLatencyNanos = properties.initialLatency().toNanos();
+        this.stats = Caffeine.newBuilder()
+                .expireAfterAccess(Duration.ofMinutes(10)) // instances that left discovery
+                .build();
+    }
+
+    public void started(ServiceInstance instance) {
+        stats(instance).started();
+    }
+
+    public void finished(ServiceInstance instance, long latencyNanos) {
+        stats(instance).finished(System.nanoTime(), latencyNanos, decayNanos);
+    }
+
+    // Expected wait for one more request: smoothed latency scaled by the requests already queued there
+    public double cost(ServiceInstance instance) {
+        return stats(instance).cost(System.nanoTime(), decayNanos, initialLatencyNanos);
+    }
+
+    private Stats stats(ServiceInstance instance) {
+        String id = instance.getInstanceId() != null ? instance.getInstanceId()
+                : instance.getServiceId() + "@" + instance.getHost() + ":" + instance.getPort();
+        return stats.get(id, ignored -> new Stats());
+    }
+
+    private static final class Stats {
+        private double ewmaNanos = -1;
+        private long updatedAt;
+        private int inFlight;
+
+        private synchronized void started() {
+            inFlight++;
+        }
+
+        private synchronized void finished(long now, long latencyNanos, double decayNanos) {
+            inFlight = Math.max(0, inFlight - 1);
+            if (ewmaNanos < 0) {
+                ewmaNanos = latencyNanos;
+            } else {
+                double weight = Math.exp(-(now - updatedAt) / decayNanos);
+                ewmaNanos = ewmaNanos * weight + latencyNanos * (1 - weight);
+            }
+            updatedAt = now;
+        }
+
+        private synchronized double cost(long now, double decayNanos, long initialLatencyNanos) {
+            double latency = ewmaNanos < 0 ? initialLatencyNanos
+                    // Between samples the estimate drifts back towards the default
+                    : initialLatencyNanos + (ewmaNanos - initialLatencyNanos) * Math.exp(-(now - updatedAt) / decayNanos);
+            return latency * (inFlight + 1);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.monks.api_gateway.balancer;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+
+/**
+ * Feeds {@link InstanceLoadStats} from the routing step: counts the request in flight on the chosen
+ * instance until the backend answers, fails or the client goes away. Runs right after the load
+ * balancer filter, so the measured time ends at the backend's response headers.
+ */
+public class InstanceLoadTrackingFilter implements GlobalFilter, Ordered {
+
+    private final InstanceLoadStats stats;
+    private final long failurePenaltyNanos;
+
+    public InstanceLoadTrackingFilter(InstanceLoadStats stats, BalancerProperties properties) {
+        this.stats = stats;
+        this.failurePenaltyNanos = properties.failurePenalty().toNanos();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Response<ServiceInstance> chosen = exchange.getAttribute(GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (chosen == null || !chosen.hasServer()) {
+            return chain.filter(exchange);
+        }
+        ServiceInstance instance = chosen.getServer();
+        long start = System.nanoTime();
+        stats.started(instance);
+        return chain.filter(exchange).doFinally(signal -> {
+            long latency = System.nanoTime() - start;
+            stats.finished(instance, signal == SignalType.ON_ERROR ? Math.max(latency, failurePenaltyNanos) : latency);
+        });
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+}
@@ -0,0 +1,18 @@
+package com.monks.api_gateway.cache;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+
+import java.time.Instant;
+
+// A complete backend response, replayed for the same subject and URI
+record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body, String eTag, Instant storedAt) {
+
+    CachedResponse revalidated(Instant now) {
+        return new CachedResponse(status, headers, body, eTag, now);
+    }
+
+    int weight() {
+        return body.length + 512; // rough allowance for key and headers
+    }
+}
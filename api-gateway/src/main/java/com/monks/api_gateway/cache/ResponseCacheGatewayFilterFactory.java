@@ -0,0 +1,227 @@
+package com.monks.api_gateway.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.security.Principal;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process cache for GET responses, used as the {@code ResponseCache} route filter. Entries are
+ * keyed by token subject and URI, and only responses the backend tags with an ETag are stored.
+ * Within the ttl a hit never reaches the backend; after it the stored ETag is sent as
+ * If-None-Match and a 304 from the backend renews the entry. Clients get a 304 themselves when
+ * their If-None-Match matches. Writes through the gateway drop the entries for the written resource.
+ */
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    private static final Set<String> UNCACHED_HEADERS = Set.of(
+            HttpHeaders.SET_COOKIE, HttpHeaders.TRANSFER_ENCODING, HttpHeaders.CONNECTION);
+
+    private final ResponseCacheProperties properties;
+    private final Cache<Key, CachedResponse> cache;
+    // Cached keys by path, so a write only visits the entries it invalidates
+    private final Map<String, Set<Key>> keysByPath = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    public ResponseCacheGatewayFilterFactory(ResponseCacheProperties properties, MeterRegistry meterRegistry,
+                                             Clock clock) {
+        super(Config.class);
+        this.properties = properties;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.maxSize().toBytes())
+                .<Key, CachedResponse>weigher((key, response) -> response.weight())
+                .expireAfterWrite(properties.ttl().plus(properties.revalidateFor()))
+                .evictionListener((Key key, CachedResponse response, RemovalCause cause) -> unindex(key))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway.response");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            String path = request.getPath().value();
+            if (HttpMethod.GET.equals(request.getMethod())) {
+                return exchange.getPrincipal()
+                        .map(Principal::getName)
+                        .defaultIfEmpty("")
+                        .flatMap(subject -> subject.isEmpty() ? chain.filter(exchange)
+                                : serve(exchange, chain, new Key(subject, path, request.getURI().getRawQuery())));
+            }
+            if (HttpMethod.HEAD.equals(request.getMethod()) || HttpMethod.OPTIONS.equals(request.getMethod())) {
+                return chain.filter(exchange);
+            }
+            // Before, so nothing stale is served while the write runs; after, to drop a read that raced it
+            invalidate(path);
+            return chain.filter(exchange).doFinally(signal -> invalidate(path));
+        };
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, GatewayFilterChain chain, Key key) {
+        String clientTag = exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null && isFresh(cached)) {
+            return replay(exchange.getResponse(), cached, clientTag);
+        }
+
+        // Ask for a full body unless we hold a copy the backend can confirm with a 304
+        ServerHttpRequest forwarded = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    headers.remove(HttpHeaders.IF_NONE_MATCH);
+                    if (cached != null) {
+                        headers.setIfNoneMatch(cached.eTag());
+                    }
+                })
+                .build();
+        CachingResponse response = new CachingResponse(exchange.getResponse(), key, cached, clientTag);
+        return chain.filter(exchange.mutate().request(forwarded).response(response).build());
+    }
+
+    private boolean isFresh(CachedResponse cached) {
+        return cached.storedAt().plus(properties.ttl()).isAfter(Instant.now(clock));
+    }
+
+    // The written path and every path above it, e.g. /api/orders/1 and /api/orders
+    private void invalidate(String path) {
+        for (String prefix = path; !prefix.isEmpty(); prefix = prefix.substring(0, prefix.lastIndexOf('/'))) {
+            Set<Key> keys = keysByPath.remove(prefix);
+            if (keys != null) {
+                cache.invalidateAll(keys);
+            }
+        }
+    }
+
+    // Indexed inside the entry's compute, so an eviction of the same key can't unindex it in between
+    private void store(Key key, CachedResponse response) {
+        cache.asMap().compute(key, (stored, previous) -> {
+            keysByPath.compute(key.path(), (path, keys) -> {
+                Set<Key> indexed = keys != null ? keys : ConcurrentHashMap.newKeySet();
+                indexed.add(key);
+                return indexed;
+            });
+            return response;
+        });
+    }
+
+    private void unindex(Key key) {
+        keysByPath.computeIfPresent(key.path(), (path, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private static Mono<Void> replay(ServerHttpResponse response, CachedResponse cached, String clientTag) {
+        HttpHeaders headers = response.getHeaders();
+        cached.headers().forEach(headers::put);
+        if (matches(clientTag, cached.eTag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            return response.setComplete();
+        }
+        response.setStatusCode(cached.status());
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    // If-None-Match uses weak comparison: W/ prefixes are ignored and "*" matches any tag
+    static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null || eTag == null) {
+            return false;
+        }
+        String tag = stripWeak(eTag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || stripWeak(trimmed).equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static boolean isCacheable(HttpHeaders headers) {
+        if (headers.getETag() == null || headers.getContentLength() < 0) {
+            return false; // untagged or streamed
+        }
+        List<String> cacheControl = headers.getOrEmpty(HttpHeaders.CACHE_CONTROL);
+        return cacheControl.stream().noneMatch(value -> value.contains("no-store"));
+    }
+
+    private final class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final Key key;
+        private final CachedResponse stale;
+        private final String clientTag;
+
+        private CachingResponse(ServerHttpResponse delegate, Key key, CachedResponse stale, String clientTag) {
+            super(delegate);
+            this.key = key;
+            this.stale = stale;
+            this.clientTag = clientTag;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            if (HttpStatus.NOT_MODIFIED.equals(status) && stale != null) {
+                CachedResponse renewed = stale.revalidated(Instant.now(clock));
+                store(key, renewed);
+                return DataBufferUtils.join(body)
+                        .doOnNext(DataBufferUtils::release)
+                        .then(replay(getDelegate(), renewed, clientTag));
+            }
+            if (!HttpStatus.OK.equals(status) || !isCacheable(getHeaders())
+                    || getHeaders().getContentLength() > properties.maxEntrySize().toBytes()) {
+                return super.writeWith(body);
+            }
+            return DataBufferUtils.join(body).flatMap(buffer -> {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                DataBufferUtils.release(buffer);
+
+                HttpHeaders headers = HttpHeaders.copyOf(getHeaders());
+                UNCACHED_HEADERS.forEach(headers::remove);
+                CachedResponse entry = new CachedResponse(status, HttpHeaders.readOnlyHttpHeaders(headers), bytes,
+                        getHeaders().getETag(), Instant.now(clock));
+                store(key, entry);
+                return replay(getDelegate(), entry, clientTag);
+            });
+        }
+    }
+
+    private record Key(String subject, String path, String query) {
+    }
+
+    public static class Config {
+    }
+}
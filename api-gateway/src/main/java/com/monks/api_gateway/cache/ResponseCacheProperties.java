@@ -0,0 +1,21 @@
+package com.monks.api_gateway.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * @param maxSize       total body bytes held across all entries
+ * @param maxEntrySize  larger responses are passed through uncached
+ * @param ttl           how long an entry is served without asking the backend
+ * @param revalidateFor how long a stale entry is kept for conditional (If-None-Match) requests to the backend
+ */
+@ConfigurationProperties("shopping.gateway.response-cache")
+public record ResponseCacheProperties(
+        @DefaultValue("64MB") DataSize maxSize,
+        @DefaultValue("256KB") DataSize maxEntrySize,
+        @DefaultValue("30s") Duration ttl,
+        @DefaultValue("10m") Duration revalidateFor) {
+}
@@ -0,0 +1,70 @@
+package com.monks.api_gateway.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
+import org.springframework.security.oauth2.client.ReactiveOAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Keeps client-credentials tokens warm: every check interval it asks the manager for each token,
+ * which renews any token within the refresh-ahead window before a request ever has to wait for it.
+ */
+public class ClientCredentialsTokenRefresher implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(ClientCredentialsTokenRefresher.class);
+
+    private final ReactiveOAuth2AuthorizedClientManager authorizedClientManager;
+    private final Iterable<ClientRegistration> registrations;
+    private final Duration checkInterval;
+    private volatile Disposable refresher;
+
+    public ClientCredentialsTokenRefresher(ReactiveOAuth2AuthorizedClientManager authorizedClientManager,
+                                           Iterable<ClientRegistration> registrations, Duration checkInterval) {
+        this.authorizedClientManager = authorizedClientManager;
+        this.registrations = registrations;
+        this.checkInterval = checkInterval;
+    }
+
+    @Override
+    public void start() {
+        refresher = Flux.interval(Duration.ZERO, checkInterval)
+                .concatMap(tick -> Flux.fromIterable(registrations)
+                        .filter(registration -> AuthorizationGrantType.CLIENT_CREDENTIALS
+                                .equals(registration.getAuthorizationGrantType()))
+                        .concatMap(this::refresh))
+                .subscribe();
+    }
+
+    private Mono<?> refresh(ClientRegistration registration) {
+        return authorizedClientManager.authorize(OAuth2AuthorizeRequest
+                        .withClientRegistrationId(registration.getRegistrationId())
+                        .principal(registration.getClientId())
+                        .build())
+                .onErrorResume(ex -> {
+                    log.warn("Background token refresh for {} failed: {}", registration.getClientId(), ex.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public void stop() {
+        Disposable running = refresher;
+        if (running != null) {
+            running.dispose();
+            refresher = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return refresher != null;
+    }
+}
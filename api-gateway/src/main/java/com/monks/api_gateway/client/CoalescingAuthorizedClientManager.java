@@ -0,0 +1,48 @@
+package com.monks.api_gateway.client;
+
+import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.ReactiveOAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.registration.ReactiveClientRegistrationRepository;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Client-credentials tokens belong to the client, not the caller, so every request for a
+ * client-credentials registration is authorized under one shared principal and therefore one cached
+ * token. Concurrent requests for the same token share a single outstanding authorization, so an
+ * expiring token causes one token-endpoint call instead of a stampede.
+ */
+public class CoalescingAuthorizedClientManager implements ReactiveOAuth2AuthorizedClientManager {
+
+    private final ReactiveOAuth2AuthorizedClientManager delegate;
+    private final ReactiveClientRegistrationRepository clientRegistrationRepository;
+    private final Map<String, Mono<OAuth2AuthorizedClient>> inFlight = new ConcurrentHashMap<>();
+
+    public CoalescingAuthorizedClientManager(ReactiveOAuth2AuthorizedClientManager delegate,
+                                             ReactiveClientRegistrationRepository clientRegistrationRepository) {
+        this.delegate = delegate;
+        this.clientRegistrationRepository = clientRegistrationRepository;
+    }
+
+    @Override
+    public Mono<OAuth2AuthorizedClient> authorize(OAuth2AuthorizeRequest authorizeRequest) {
+        return clientRegistrationRepository.findByRegistrationId(authorizeRequest.getClientRegistrationId())
+                .filter(registration -> AuthorizationGrantType.CLIENT_CREDENTIALS
+                        .equals(registration.getAuthorizationGrantType()))
+                .flatMap(registration -> authorizeShared(registration.getRegistrationId(), registration.getClientId()))
+                .switchIfEmpty(Mono.defer(() -> delegate.authorize(authorizeRequest)));
+    }
+
+    private Mono<OAuth2AuthorizedClient> authorizeShared(String registrationId, String clientId) {
+        return inFlight.computeIfAbsent(registrationId, key -> delegate.authorize(
+                        OAuth2AuthorizeRequest.withClientRegistrationId(key)
+                                .principal(clientId)
+                                .build())
+                .doFinally(signal -> inFlight.remove(key))
+                .cache());
+    }
+}
@@ -0,0 +1,43 @@
+package com.monks.api_gateway.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.oauth2.client.OAuth2AuthorizationContext;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.ReactiveOAuth2AuthorizedClientProvider;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+// Times the calls that actually hit the token endpoint; the delegate completes empty when the cached token is still good
+public class MeteredAuthorizedClientProvider implements ReactiveOAuth2AuthorizedClientProvider {
+
+    private final ReactiveOAuth2AuthorizedClientProvider delegate;
+    private final MeterRegistry meterRegistry;
+
+    public MeteredAuthorizedClientProvider(ReactiveOAuth2AuthorizedClientProvider delegate,
+                                           MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<OAuth2AuthorizedClient> authorize(OAuth2AuthorizationContext context) {
+        String clientId = context.getClientRegistration().getClientId();
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return delegate.authorize(context)
+                    .doOnNext(client -> record(clientId, "success", start))
+                    .doOnError(ex -> record(clientId, "failure", start));
+        });
+    }
+
+    private void record(String clientId, String outcome, long start) {
+        Timer.builder("oauth2.client.token.refresh")
+                .description("Token endpoint calls made to renew cached client tokens")
+                .tag("client", clientId)
+                .tag("outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
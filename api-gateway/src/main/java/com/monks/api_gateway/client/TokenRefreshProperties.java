@@ -0,0 +1,16 @@
+package com.monks.api_gateway.client;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param refreshAhead  tokens this close to expiry are treated as expired and renewed
+ * @param checkInterval how often the background refresher looks at cached tokens; keep it below refreshAhead
+ */
+@ConfigurationProperties("shopping.oauth2.client")
+public record TokenRefreshProperties(
+        @DefaultValue("60s") Duration refreshAhead,
+        @DefaultValue("15s") Duration checkInterval) {
+}
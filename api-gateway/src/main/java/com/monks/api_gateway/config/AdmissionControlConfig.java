@@ -0,0 +1,39 @@
+package com.monks.api_gateway.config;
+
+import com.monks.api_gateway.limit.ConcurrencyLimitGatewayFilterFactory;
+import com.monks.api_gateway.limit.InMemoryTokenBucketStore;
+import com.monks.api_gateway.limit.RateLimitProperties;
+import com.monks.api_gateway.limit.TokenBucketRateLimiter;
+import com.monks.api_gateway.limit.TokenBucketStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Per-client rate limits (RequestRateLimiter) and per-route in-flight limits (ConcurrencyLimit)
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class AdmissionControlConfig {
+
+    // Replace with a shared store to enforce one limit across gateway instances
+    @Bean
+    @ConditionalOnMissingBean
+    public TokenBucketStore tokenBucketStore(RateLimitProperties properties) {
+        return new InMemoryTokenBucketStore(properties.maxKeys(), properties.idleExpiry());
+    }
+
+    // The RequestRateLimiter default; keyed by the built-in principal name resolver, i.e. the token sub
+    @Bean
+    public TokenBucketRateLimiter tokenBucketRateLimiter(TokenBucketStore store, RateLimitProperties properties,
+                                                         ConfigurationService configurationService,
+                                                         MeterRegistry meterRegistry) {
+        return new TokenBucketRateLimiter(store, properties, configurationService, meterRegistry);
+    }
+
+    @Bean
+    public ConcurrencyLimitGatewayFilterFactory concurrencyLimitGatewayFilterFactory(MeterRegistry meterRegistry) {
+        return new ConcurrencyLimitGatewayFilterFactory(meterRegistry);
+    }
+}
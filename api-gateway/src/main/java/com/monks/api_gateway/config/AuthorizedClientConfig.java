@@ -0,0 +1,46 @@
+package com.monks.api_gateway.config;
+
+import com.monks.api_gateway.client.ClientCredentialsTokenRefresher;
+import com.monks.api_gateway.client.CoalescingAuthorizedClientManager;
+import com.monks.api_gateway.client.MeteredAuthorizedClientProvider;
+import com.monks.api_gateway.client.TokenRefreshProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.client.AuthorizedClientServiceReactiveOAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.ClientCredentialsReactiveOAuth2AuthorizedClientProvider;
+import org.springframework.security.oauth2.client.InMemoryReactiveOAuth2AuthorizedClientService;
+import org.springframework.security.oauth2.client.ReactiveOAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.registration.InMemoryReactiveClientRegistrationRepository;
+
+@Configuration
+@EnableConfigurationProperties(TokenRefreshProperties.class)
+public class AuthorizedClientConfig {
+
+    // Also picked up by the TokenRelay filter
+    @Bean
+    public ReactiveOAuth2AuthorizedClientManager authorizedClientManager(
+            InMemoryReactiveClientRegistrationRepository clientRegistrationRepository,
+            TokenRefreshProperties properties, MeterRegistry meterRegistry) {
+        ClientCredentialsReactiveOAuth2AuthorizedClientProvider clientCredentials =
+                new ClientCredentialsReactiveOAuth2AuthorizedClientProvider();
+        clientCredentials.setClockSkew(properties.refreshAhead()); // renew before expiry, not at it
+
+        AuthorizedClientServiceReactiveOAuth2AuthorizedClientManager caching =
+                new AuthorizedClientServiceReactiveOAuth2AuthorizedClientManager(clientRegistrationRepository,
+                        new InMemoryReactiveOAuth2AuthorizedClientService(clientRegistrationRepository));
+        caching.setAuthorizedClientProvider(new MeteredAuthorizedClientProvider(clientCredentials, meterRegistry));
+
+        return new CoalescingAuthorizedClientManager(caching, clientRegistrationRepository);
+    }
+
+    @Bean
+    ClientCredentialsTokenRefresher clientCredentialsTokenRefresher(
+            ReactiveOAuth2AuthorizedClientManager authorizedClientManager,
+            InMemoryReactiveClientRegistrationRepository clientRegistrationRepository,
+            TokenRefreshProperties properties) {
+        return new ClientCredentialsTokenRefresher(authorizedClientManager, clientRegistrationRepository,
+                properties.checkInterval());
+    }
+}
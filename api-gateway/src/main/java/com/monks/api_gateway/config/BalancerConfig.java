@@ -0,0 +1,28 @@
+package com.monks.api_gateway.config;
+
+import com.monks.api_gateway.balancer.BalancerProperties;
+import com.monks.api_gateway.balancer.InstanceLoadStats;
+import com.monks.api_gateway.balancer.InstanceLoadTrackingFilter;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Latency-aware instance choice for every lb:// route, replacing round-robin
+@Configuration
+@EnableConfigurationProperties(BalancerProperties.class)
+@LoadBalancerClients(defaultConfiguration = GatewayLoadBalancerConfiguration.class)
+public class BalancerConfig {
+
+    // Shared by the tracking filter and each service's load balancer
+    @Bean
+    public InstanceLoadStats instanceLoadStats(BalancerProperties properties) {
+        return new InstanceLoadStats(properties);
+    }
+
+    @Bean
+    public InstanceLoadTrackingFilter instanceLoadTrackingFilter(InstanceLoadStats stats,
+                                                                 BalancerProperties properties) {
+        return new InstanceLoadTrackingFilter(stats, properties);
+    }
+}
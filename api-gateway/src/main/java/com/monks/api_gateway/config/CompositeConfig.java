@@ -0,0 +1,27 @@
+package com.monks.api_gateway.config;
+
+import com.monks.api_gateway.aggregate.CompositeProperties;
+import com.monks.api_gateway.aggregate.UserOverviewService;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.reactive.function.client.WebClient;
+
+@Configuration
+@EnableConfigurationProperties(CompositeProperties.class)
+public class CompositeConfig {
+
+    // http://<service-id>/... through the same load balancer as the lb:// routes
+    @Bean
+    public UserOverviewService userOverviewService(ReactorLoadBalancerExchangeFilterFunction loadBalancerFunction,
+                                                   CompositeProperties properties,
+                                                   ObservationRegistry observationRegistry) {
+        WebClient webClient = WebClient.builder()
+                .filter(loadBalancerFunction)
+                .observationRegistry(observationRegistry) // both legs show up as child spans with trace headers
+                .build();
+        return new UserOverviewService(webClient, properties);
+    }
+}
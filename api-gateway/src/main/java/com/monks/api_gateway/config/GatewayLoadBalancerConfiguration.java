@@ -0,0 +1,44 @@
+package com.monks.api_gateway.config;
+
+import com.monks.api_gateway.balancer.BackgroundRefreshingInstanceListSupplier;
+import com.monks.api_gateway.balancer.BalancerProperties;
+import com.monks.api_gateway.balancer.InstanceLoadStats;
+import com.monks.api_gateway.balancer.PeakEwmaLoadBalancer;
+import com.monks.api_gateway.resilience.HealthyInstanceListSupplier;
+import com.monks.api_gateway.resilience.InstanceHealth;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Per-service load balancer context, registered through {@link BalancerConfig}. Deliberately not a
+ * {@code @Configuration}: it must only be picked up by the load balancer child contexts.
+ */
+public class GatewayLoadBalancerConfiguration {
+
+    // Discovery list refreshed in the background, minus instances with an open circuit breaker
+    @Bean
+    public ServiceInstanceListSupplier serviceInstanceListSupplier(ConfigurableApplicationContext context,
+                                                                   BalancerProperties properties,
+                                                                   InstanceHealth instanceHealth) {
+        return ServiceInstanceListSupplier.builder()
+                .withDiscoveryClient()
+                .with((ignored, delegate) -> new BackgroundRefreshingInstanceListSupplier(delegate,
+                        properties.instanceRefreshInterval()))
+                .with((ignored, delegate) -> new HealthyInstanceListSupplier(delegate, instanceHealth))
+                .build(context);
+    }
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> reactorServiceInstanceLoadBalancer(Environment environment,
+                                                                                   LoadBalancerClientFactory clientFactory,
+                                                                                   InstanceLoadStats stats) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new PeakEwmaLoadBalancer(clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                stats);
+    }
+}
@@ -0,0 +1,17 @@
+package com.monks.api_gateway.config;
+
+import com.monks.api_gateway.aggregate.UserOverview;
+import com.monks.security.SecurityRuntimeHints;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+// Reflection for native images on the composite response, built from untyped backend JSON, and the security config
+public class GatewayRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), UserOverview.class);
+        SecurityRuntimeHints.registerSecurityConfig(hints, GatewaySecurityConfig.class);
+    }
+}
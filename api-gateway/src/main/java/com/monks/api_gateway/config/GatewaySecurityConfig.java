@@ -1,24 +1,27 @@
 package com.monks.api_gateway.config;
 
+import com.monks.security.internal.InternalTokenProperties;
+import com.monks.security.jwt.JwtDecoderConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.oauth2.client.registration.ClientRegistration;
 import org.springframework.security.oauth2.client.registration.InMemoryReactiveClientRegistrationRepository;
-import org.springframework.security.oauth2.client.registration.ReactiveClientRegistrationRepository;
 import org.springframework.security.oauth2.core.AuthorizationGrantType;
 import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
 import org.springframework.security.oauth2.core.oidc.IdTokenClaimNames;
-import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
-import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 
 import java.util.UUID;
 
 @Configuration
 @EnableWebFluxSecurity
+@Import(JwtDecoderConfiguration.class) // External tokens only; internal ones are minted here, never accepted
+@EnableConfigurationProperties(InternalTokenProperties.class)
 public class GatewaySecurityConfig {
 
     @Bean
@@ -31,7 +34,7 @@ public class GatewaySecurityConfig {
     }
 
     @Bean
-    public ReactiveClientRegistrationRepository clientRegistrationRepository() {
+    public InMemoryReactiveClientRegistrationRepository clientRegistrationRepository() {
         return new InMemoryReactiveClientRegistrationRepository(
                 userServiceClientRegistration()
         );
@@ -53,9 +56,4 @@ public class GatewaySecurityConfig {
                 .clientName("AuthServer")
                 .build();
     }
-
-    @Bean
-    ReactiveJwtDecoder reactiveJwtDecoder(){
-        return new NimbusReactiveJwtDecoder("http://localhost:9090/oauth2/jwks");
-    }
 }
@@ -0,0 +1,23 @@
+package com.monks.api_gateway.config;
+
+import com.monks.api_gateway.filter.RoutingLatencyFilter;
+import com.monks.observability.TracingConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+@Configuration
+@Import(TracingConfiguration.class) // OTLP and optional file export of spans
+public class ObservabilityConfig {
+
+    @Bean
+    public RoutingLatencyFilter.Start routingLatencyStart() {
+        return new RoutingLatencyFilter.Start();
+    }
+
+    @Bean
+    public RoutingLatencyFilter routingLatencyFilter(MeterRegistry meterRegistry) {
+        return new RoutingLatencyFilter(meterRegistry);
+    }
+}
@@ -0,0 +1,57 @@
+package com.monks.api_gateway.config;
+
+import com.monks.api_gateway.resilience.HedgeGatewayFilterFactory;
+import com.monks.api_gateway.resilience.InstanceHealth;
+import com.monks.api_gateway.resilience.InstanceHealthLifecycle;
+import com.monks.api_gateway.resilience.InstanceHealthProperties;
+import com.monks.api_gateway.resilience.JitteredRetryGatewayFilterFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.List;
+
+// Timeouts live in the route metadata; this wires retries, hedging and per-instance ejection
+@Configuration
+@EnableConfigurationProperties(InstanceHealthProperties.class)
+public class ResilienceConfig {
+
+    @Bean
+    public InstanceHealth instanceHealth(InstanceHealthProperties properties, MeterRegistry meterRegistry) {
+        return new InstanceHealth(properties, meterRegistry);
+    }
+
+    // Found by the gateway's load balancer filter in every per-service load balancer context
+    @Bean
+    public InstanceHealthLifecycle instanceHealthLifecycle(InstanceHealth instanceHealth) {
+        return new InstanceHealthLifecycle(instanceHealth);
+    }
+
+    @Bean
+    public JitteredRetryGatewayFilterFactory jitteredRetryGatewayFilterFactory() {
+        return new JitteredRetryGatewayFilterFactory();
+    }
+
+    // Hedged requests share the gateway's own HttpClient, with its pool and connect timeout
+    @Bean
+    public HedgeGatewayFilterFactory hedgeGatewayFilterFactory(HttpClient gatewayHttpClient,
+                                                               LoadBalancerClientFactory clientFactory,
+                                                               ObjectProvider<List<HttpHeadersFilter>> headersFilters,
+                                                               InstanceHealth instanceHealth,
+                                                               MeterRegistry meterRegistry,
+                                                               ObservationRegistry observationRegistry) {
+        WebClient webClient = WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(gatewayHttpClient))
+                .observationRegistry(observationRegistry) // traced and propagated like routed requests
+                .build();
+        return new HedgeGatewayFilterFactory(webClient, clientFactory, headersFilters, instanceHealth, meterRegistry);
+    }
+}
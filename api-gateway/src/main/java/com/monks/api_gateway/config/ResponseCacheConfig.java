@@ -0,0 +1,22 @@
+package com.monks.api_gateway.config;
+
+import com.monks.api_gateway.cache.ResponseCacheGatewayFilterFactory;
+import com.monks.api_gateway.cache.ResponseCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+@Configuration
+@EnableConfigurationProperties(ResponseCacheProperties.class)
+public class ResponseCacheConfig {
+
+    // Registered as the "ResponseCache" route filter
+    @Bean
+    public ResponseCacheGatewayFilterFactory responseCacheGatewayFilterFactory(ResponseCacheProperties properties,
+                                                                               MeterRegistry meterRegistry) {
+        return new ResponseCacheGatewayFilterFactory(properties, meterRegistry, Clock.systemUTC());
+    }
+}
@@ -0,0 +1,37 @@
+package com.monks.api_gateway.controller;
+
+import com.monks.api_gateway.aggregate.UserOverview;
+import com.monks.api_gateway.aggregate.UserOverviewService;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+// Endpoints answered by the gateway itself by combining several services, one client round trip each
+@RestController
+@RequestMapping("/api/composite")
+public class CompositeController {
+
+    private final UserOverviewService userOverviewService;
+
+    public CompositeController(UserOverviewService userOverviewService) {
+        this.userOverviewService = userOverviewService;
+    }
+
+    // Replaces GET /api/users/{id} followed by GET /api/orders/customer/{id}
+    @GetMapping("/users/{id}/overview")
+    public Mono<UserOverview> userOverview(@AuthenticationPrincipal Jwt jwt, @PathVariable String id,
+                                           @RequestParam(required = false) Integer orders) {
+        if (jwt == null) { // an oauth2Login session has no bearer token to pass on to the services
+            return Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED,
+                    "The overview needs a bearer token"));
+        }
+        return userOverviewService.overview(id, orders, jwt.getTokenValue());
+    }
+}
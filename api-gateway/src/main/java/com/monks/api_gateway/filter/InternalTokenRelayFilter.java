@@ -0,0 +1,52 @@
+package com.monks.api_gateway.filter;
+
+import com.monks.security.internal.InternalTokenMinter;
+import com.monks.security.internal.InternalTokenProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Clock;
+
+/**
+ * Trusted-internal mode: forwards the claims of the JWT this gateway already verified as an
+ * HMAC-signed internal token, so downstream services skip a second RSA verification.
+ * A client-supplied internal token header is always overwritten or dropped.
+ */
+@Component
+@ConditionalOnProperty(name = "shopping.security.internal.enabled", havingValue = "true")
+public class InternalTokenRelayFilter implements GlobalFilter, Ordered {
+
+    private final InternalTokenProperties properties;
+    private final InternalTokenMinter minter;
+
+    public InternalTokenRelayFilter(InternalTokenProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.minter = new InternalTokenMinter(properties, meterRegistry, Clock.systemUTC());
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        return exchange.getPrincipal()
+                .filter(JwtAuthenticationToken.class::isInstance)
+                .map(principal -> minter.mint(((JwtAuthenticationToken) principal).getToken()))
+                .map(token -> exchange.mutate()
+                        .request(request -> request.headers(headers -> headers.set(properties.header(), token)))
+                        .build())
+                .defaultIfEmpty(exchange.mutate()
+                        .request(request -> request.headers(headers -> headers.remove(properties.header())))
+                        .build())
+                .flatMap(chain::filter);
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+}
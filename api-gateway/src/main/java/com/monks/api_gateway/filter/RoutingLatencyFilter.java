@@ -0,0 +1,69 @@
+package com.monks.api_gateway.filter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Records {@code gateway.routing}: the time a request spends in the gateway before it is handed to a
+ * backend, i.e. security and JWT decode, rate and concurrency limits, route filters and the load
+ * balancer's choice. The backend's own share is in the http.client.requests observation. Runs last
+ * before the routing filters; {@link Start} marks when the request arrived.
+ */
+public class RoutingLatencyFilter implements GlobalFilter, Ordered {
+
+    private static final String START_ATTR = RoutingLatencyFilter.class.getName() + ".start";
+
+    private final MeterRegistry meterRegistry;
+
+    public RoutingLatencyFilter(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        // Removed on read, so retried attempts passing through again are not counted twice
+        Long start = (Long) exchange.getAttributes().remove(START_ATTR);
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (start != null && route != null) {
+            Timer.builder("gateway.routing")
+                    .description("Time in the gateway before a request is forwarded")
+                    .tag("route", route.getId())
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return chain.filter(exchange);
+    }
+
+    // Before the routing filters and the Hedge filter, which forwards requests itself
+    @Override
+    public int getOrder() {
+        return Ordered.LOWEST_PRECEDENCE - 2;
+    }
+
+    // First web filter, ahead of Spring Security
+    public static class Start implements WebFilter, Ordered {
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+            exchange.getAttributes().put(START_ATTR, System.nanoTime());
+            return chain.filter(exchange);
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.monks.api_gateway.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@code ConcurrencyLimit} route filter: at most {@code max-in-flight} requests of a route are
+ * forwarded at once. Up to {@code max-queued} more wait at most {@code max-wait} for a slot; everything
+ * beyond that is answered 429 immediately, so an overloaded backend is not also handed a backlog.
+ */
+public class ConcurrencyLimitGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ConcurrencyLimitGatewayFilterFactory.Config> {
+
+    private final MeterRegistry meterRegistry;
+
+    public ConcurrencyLimitGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Limiter limiter = new Limiter(config.getMaxInFlight(), config.getMaxQueued());
+        String route = String.valueOf(config.getRouteId());
+        Gauge.builder("gateway.concurrency.in_flight", limiter, Limiter::inFlight)
+                .description("Requests of the route currently forwarded to the backend")
+                .tag("route", route)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.queued", limiter, Limiter::queued)
+                .description("Requests of the route waiting for an in-flight slot")
+                .tag("route", route)
+                .register(meterRegistry);
+        Counter rejected = Counter.builder("gateway.concurrency.rejected")
+                .description("Requests rejected with 429 by the route's concurrency limit")
+                .tag("route", route)
+                .register(meterRegistry);
+
+        return (exchange, chain) -> limiter.acquire(config.getMaxWait())
+                .flatMap(acquired -> {
+                    if (!acquired) {
+                        rejected.increment();
+                        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+                        return exchange.getResponse().setComplete();
+                    }
+                    return chain.filter(exchange).doFinally(signal -> limiter.release());
+                });
+    }
+
+    // Semaphore with a bounded FIFO of waiters; permits are handed to waiters directly on release
+    static final class Limiter {
+        private final int maxInFlight;
+        private final int maxQueued;
+        private final Queue<Sinks.One<Boolean>> waiters = new ArrayDeque<>();
+        private int inFlight;
+
+        Limiter(int maxInFlight, int maxQueued) {
+            this.maxInFlight = maxInFlight;
+            this.maxQueued = maxQueued;
+        }
+
+        Mono<Boolean> acquire(Duration maxWait) {
+            Sinks.One<Boolean> waiter;
+            synchronized (this) {
+                if (inFlight < maxInFlight) {
+                    inFlight++;
+                    return Mono.just(true);
+                }
+                if (waiters.size() >= maxQueued || maxWait.isZero()) {
+                    return Mono.just(false);
+                }
+                waiter = Sinks.one();
+                waiters.add(waiter);
+            }
+            // Exactly one of delivery, timeout and cancellation settles the waiter
+            AtomicBoolean settled = new AtomicBoolean();
+            return waiter.asMono()
+                    .filter(granted -> settled.compareAndSet(false, true))
+                    .timeout(maxWait, Mono.fromSupplier(() -> {
+                        if (settled.compareAndSet(false, true)) {
+                            abandon(waiter);
+                        } else {
+                            release(); // the slot arrived together with the timeout and was dropped
+                        }
+                        return false;
+                    }))
+                    .doOnCancel(() -> {
+                        if (settled.compareAndSet(false, true)) {
+                            abandon(waiter);
+                        }
+                    });
+        }
+
+        void release() {
+            Sinks.One<Boolean> next;
+            synchronized (this) {
+                next = waiters.poll();
+                if (next == null) {
+                    inFlight--;
+                    return;
+                }
+            }
+            // The slot moves to the waiter; emitted outside the lock since the request continues on this thread
+            next.tryEmitValue(true);
+        }
+
+        // A waiter that gives up either is still queued, or was already handed a slot it must give back
+        private void abandon(Sinks.One<Boolean> waiter) {
+            synchronized (this) {
+                if (waiters.remove(waiter)) {
+                    return;
+                }
+            }
+            release();
+        }
+
+        synchronized int inFlight() {
+            return inFlight;
+        }
+
+        synchronized int queued() {
+            return waiters.size();
+        }
+    }
+
+    public static class Config implements HasRouteId {
+        private int maxInFlight = 200;
+        private int maxQueued = 0;
+        private Duration maxWait = Duration.ZERO;
+        private String routeId;
+
+        public int getMaxInFlight() {
+            return maxInFlight;
+        }
+
+        public void setMaxInFlight(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+        }
+
+        public int getMaxQueued() {
+            return maxQueued;
+        }
+
+        public void setMaxQueued(int maxQueued) {
+            this.maxQueued = maxQueued;
+        }
+
+        public Duration getMaxWait() {
+            return maxWait;
+        }
+
+        public void setMaxWait(Duration maxWait) {
+            this.maxWait = maxWait;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.monks.api_gateway.limit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+// Buckets live per gateway instance; idle ones are dropped, which is the same as a full bucket
+public class InMemoryTokenBucketStore implements TokenBucketStore {
+
+    private final Cache<String, Bucket> buckets;
+
+    public InMemoryTokenBucketStore(long maxKeys, Duration idleExpiry) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleExpiry)
+                .build();
+    }
+
+    @Override
+    public Mono<Consumption> tryConsume(String key, int replenishRate, int burstCapacity, int permits) {
+        long now = System.nanoTime();
+        Bucket bucket = buckets.get(key, ignored -> new Bucket(burstCapacity, now));
+        return Mono.just(bucket.tryConsume(now, replenishRate, burstCapacity, permits));
+    }
+
+    private static final class Bucket {
+        private double tokens;
+        private long refilledAt;
+
+        private Bucket(double tokens, long now) {
+            this.tokens = tokens;
+            this.refilledAt = now;
+        }
+
+        private synchronized Consumption tryConsume(long now, int replenishRate, int burstCapacity, int permits) {
+            // Refill lazily from the time elapsed since the last call instead of on a timer
+            tokens = Math.min(burstCapacity, tokens + Math.max(0, now - refilledAt) / 1e9 * replenishRate);
+            refilledAt = Math.max(refilledAt, now);
+            if (tokens < permits) {
+                return new Consumption(false, (long) tokens);
+            }
+            tokens -= permits;
+            return new Consumption(true, (long) tokens);
+        }
+    }
+}
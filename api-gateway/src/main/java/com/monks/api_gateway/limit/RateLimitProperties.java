@@ -0,0 +1,22 @@
+package com.monks.api_gateway.limit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Defaults for routes using {@code RequestRateLimiter} without their own {@code token-bucket-rate-limiter.*} args.
+ *
+ * @param replenishRate tokens per second per client
+ * @param burstCapacity bucket size, the most a client can send at once
+ * @param maxKeys       buckets kept by the in-memory store
+ * @param idleExpiry    in-memory buckets unused this long are dropped
+ */
+@ConfigurationProperties("shopping.gateway.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("50") int replenishRate,
+        @DefaultValue("100") int burstCapacity,
+        @DefaultValue("100000") long maxKeys,
+        @DefaultValue("10m") Duration idleExpiry) {
+}
@@ -0,0 +1,96 @@
+package com.monks.api_gateway.limit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Token-bucket limiter for the {@code RequestRateLimiter} route filter. The key comes from the
+ * route's KeyResolver (the token subject by default), so every client gets its own bucket per route.
+ * If the store fails the request is let through rather than turning a store outage into an outage.
+ */
+public class TokenBucketRateLimiter extends AbstractRateLimiter<TokenBucketRateLimiter.Config> {
+
+    private static final Logger log = LoggerFactory.getLogger(TokenBucketRateLimiter.class);
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "token-bucket-rate-limiter";
+
+    private final TokenBucketStore store;
+    private final Config defaultConfig;
+    private final MeterRegistry meterRegistry;
+
+    public TokenBucketRateLimiter(TokenBucketStore store, RateLimitProperties properties,
+                                  ConfigurationService configurationService, MeterRegistry meterRegistry) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.store = store;
+        this.meterRegistry = meterRegistry;
+        this.defaultConfig = new Config();
+        defaultConfig.setReplenishRate(properties.replenishRate());
+        defaultConfig.setBurstCapacity(properties.burstCapacity());
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        return store.tryConsume(routeId + ":" + id, config.getReplenishRate(), config.getBurstCapacity(),
+                        config.getRequestedTokens())
+                .map(consumption -> {
+                    if (!consumption.allowed()) {
+                        Counter.builder("gateway.ratelimit.rejected")
+                                .description("Requests rejected with 429 by the per-client rate limit")
+                                .tag("route", routeId)
+                                .register(meterRegistry)
+                                .increment();
+                    }
+                    return new Response(consumption.allowed(), headers(config, consumption.remaining()));
+                })
+                .onErrorResume(ex -> {
+                    log.warn("Rate limit store failed for route {}, allowing request", routeId, ex);
+                    return Mono.just(new Response(true, Map.of()));
+                });
+    }
+
+    private static Map<String, String> headers(Config config, long remaining) {
+        return Map.of(
+                "X-RateLimit-Remaining", String.valueOf(remaining),
+                "X-RateLimit-Replenish-Rate", String.valueOf(config.getReplenishRate()),
+                "X-RateLimit-Burst-Capacity", String.valueOf(config.getBurstCapacity()));
+    }
+
+    // Bound from route args, e.g. token-bucket-rate-limiter.replenish-rate: 20
+    public static class Config {
+        private int replenishRate;
+        private int burstCapacity;
+        private int requestedTokens = 1;
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public void setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public void setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+        }
+
+        public int getRequestedTokens() {
+            return requestedTokens;
+        }
+
+        public void setRequestedTokens(int requestedTokens) {
+            this.requestedTokens = requestedTokens;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.monks.api_gateway.limit;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Holds the token buckets behind {@link TokenBucketRateLimiter}. The default keeps them in this
+ * gateway's memory; declare another bean (Redis, Hazelcast, ...) to share limits across instances.
+ */
+public interface TokenBucketStore {
+
+    /**
+     * Takes {@code permits} tokens from the bucket for {@code key}, creating it full if it does not exist.
+     *
+     * @param replenishRate tokens added per second
+     * @param burstCapacity bucket size
+     */
+    Mono<Consumption> tryConsume(String key, int replenishRate, int burstCapacity, int permits);
+
+    record Consumption(boolean allowed, long remaining) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.monks.api_gateway.resilience;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.loadbalancer.core.DelegatingServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+// Drops instances whose circuit breaker is open from the candidates the load balancer picks from
+public class HealthyInstanceListSupplier extends DelegatingServiceInstanceListSupplier {
+
+    private final InstanceHealth health;
+
+    public HealthyInstanceListSupplier(ServiceInstanceListSupplier delegate, InstanceHealth health) {
+        super(delegate);
+        this.health = health;
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get() {
+        return getDelegate().get().map(health::available);
+    }
+
+    @Override
+    public Flux<List<ServiceInstance>> get(Request request) {
+        return getDelegate().get(request).map(health::available);
+    }
+}
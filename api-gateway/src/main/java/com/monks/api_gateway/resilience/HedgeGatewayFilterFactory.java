@@ -0,0 +1,243 @@
+package com.monks.api_gateway.resilience;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerUriTools;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.headers.HttpHeadersFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.springframework.cloud.gateway.support.RouteMetadataUtils.RESPONSE_TIMEOUT_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.isAlreadyRouted;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.setAlreadyRouted;
+
+/**
+ * {@code Hedge} route filter for GETs: forwards to the instance the load balancer picked and, if no
+ * response headers arrived within the route's observed p95 latency, sends the same request to a
+ * second instance. The first response wins and the other request is cancelled. Until enough samples
+ * are recorded the configured {@code delay} is used. Runs right before NettyRoutingFilter and
+ * routes the request itself; other methods pass through untouched.
+ */
+public class HedgeGatewayFilterFactory extends AbstractGatewayFilterFactory<HedgeGatewayFilterFactory.Config> {
+
+    // After the load balancer has chosen the primary, before NettyRoutingFilter would forward it
+    private static final int ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+
+    private final WebClient webClient;
+    private final LoadBalancerClientFactory clientFactory;
+    private final ObjectProvider<List<HttpHeadersFilter>> headersFilters;
+    private final InstanceHealth health;
+    private final MeterRegistry meterRegistry;
+
+    public HedgeGatewayFilterFactory(WebClient webClient, LoadBalancerClientFactory clientFactory,
+                                     ObjectProvider<List<HttpHeadersFilter>> headersFilters, InstanceHealth health,
+                                     MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.webClient = webClient;
+        this.clientFactory = clientFactory;
+        this.headersFilters = headersFilters;
+        this.health = health;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String route = String.valueOf(config.getRouteId());
+        Timer latency = Timer.builder("gateway.hedge.latency")
+                .description("Time to response headers of requests on hedged routes")
+                .tag("route", route)
+                .publishPercentiles(config.getPercentile())
+                .distributionStatisticExpiry(Duration.ofMinutes(1))
+                .register(meterRegistry);
+        Counter hedged = Counter.builder("gateway.hedge.sent")
+                .description("Second requests sent because the first was slower than the hedge delay")
+                .tag("route", route)
+                .register(meterRegistry);
+        HedgeDelay hedgeDelay = new HedgeDelay(latency, config);
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            Response<ServiceInstance> chosen = exchange.getAttribute(GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+            URI url = exchange.getAttribute(GATEWAY_REQUEST_URL_ATTR);
+            if (!HttpMethod.GET.equals(exchange.getRequest().getMethod()) || isAlreadyRouted(exchange)
+                    || chosen == null || !chosen.hasServer() || url == null) {
+                return chain.filter(exchange);
+            }
+            setAlreadyRouted(exchange);
+
+            HttpHeaders headers = HttpHeadersFilter.filterRequest(headersFilters.getIfAvailable(), exchange);
+            Duration timeout = responseTimeout(exchange);
+            ServiceInstance primary = chosen.getServer();
+
+            Mono<ResponseEntity<Flux<DataBuffer>>> first = send(url, headers, timeout, latency);
+            Mono<ResponseEntity<Flux<DataBuffer>>> second = Mono.delay(hedgeDelay.current())
+                    .then(otherInstance(primary))
+                    .flatMap(instance -> {
+                        hedged.increment();
+                        long start = System.nanoTime();
+                        return send(LoadBalancerUriTools.reconstructURI(instance, url), headers, timeout, latency)
+                                .doOnSuccess(entity -> health.record(instance, System.nanoTime() - start,
+                                        entity.getStatusCode().is5xxServerError()))
+                                .doOnError(ex -> health.record(instance, System.nanoTime() - start, true));
+                    });
+            return Mono.firstWithValue(first, second)
+                    .onErrorMap(ex -> ex.getSuppressed().length > 0, ex -> ex.getSuppressed()[0])
+                    .flatMap(entity -> write(exchange, entity));
+        }, ORDER);
+    }
+
+    private Mono<ResponseEntity<Flux<DataBuffer>>> send(URI url, HttpHeaders headers, Duration timeout, Timer latency) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            Mono<ResponseEntity<Flux<DataBuffer>>> response = webClient.get()
+                    .uri(url)
+                    .headers(target -> target.addAll(headers))
+                    .retrieve()
+                    .onStatus(status -> true, ignored -> Mono.empty()) // relay every status as is
+                    .toEntityFlux(DataBuffer.class);
+            if (timeout != null) {
+                response = response.timeout(timeout);
+            }
+            return response
+                    .doOnNext(entity -> latency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS))
+                    .onErrorMap(TimeoutException.class,
+                            ex -> new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, ex.getMessage(), ex))
+                    .onErrorMap(WebClientRequestException.class, ex -> ex.getCause() != null ? ex.getCause() : ex);
+        });
+    }
+
+    private Mono<ServiceInstance> otherInstance(ServiceInstance primary) {
+        ReactiveLoadBalancer<ServiceInstance> loadBalancer = clientFactory.getInstance(primary.getServiceId());
+        if (loadBalancer == null) {
+            return Mono.empty();
+        }
+        // A few picks, since the balancer may well choose the primary again
+        return Mono.defer(() -> Mono.from(loadBalancer.choose()))
+                .repeat(2)
+                .filter(Response::hasServer)
+                .map(Response::getServer)
+                .filter(instance -> !Objects.equals(instance.getHost(), primary.getHost())
+                        || instance.getPort() != primary.getPort())
+                .next();
+    }
+
+    private Mono<Void> write(ServerWebExchange exchange, ResponseEntity<Flux<DataBuffer>> entity) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(entity.getStatusCode());
+        response.getHeaders().addAll(HttpHeadersFilter.filter(headersFilters.getIfAvailable(), entity.getHeaders(),
+                exchange, HttpHeadersFilter.Type.RESPONSE));
+        return response.writeWith(entity.getBody());
+    }
+
+    // Same route metadata NettyRoutingFilter reads, in milliseconds
+    private static Duration responseTimeout(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        Object timeout = route == null ? null : route.getMetadata().get(RESPONSE_TIMEOUT_ATTR);
+        if (timeout == null) {
+            return null;
+        }
+        long millis = timeout instanceof Number number ? number.longValue() : Long.parseLong(timeout.toString());
+        return millis < 0 ? null : Duration.ofMillis(millis);
+    }
+
+    // The percentile is recomputed at most once a second rather than per request
+    private static final class HedgeDelay {
+        private final Timer latency;
+        private final Config config;
+        private volatile Duration current;
+        private volatile long computedAt;
+
+        private HedgeDelay(Timer latency, Config config) {
+            this.latency = latency;
+            this.config = config;
+            this.current = config.getDelay();
+        }
+
+        private Duration current() {
+            long now = System.nanoTime();
+            if (now - computedAt > TimeUnit.SECONDS.toNanos(1)) {
+                computedAt = now;
+                HistogramSnapshot snapshot = latency.takeSnapshot();
+                ValueAtPercentile[] percentiles = snapshot.percentileValues();
+                if (snapshot.count() >= config.getMinSamples() && percentiles.length > 0) {
+                    current = Duration.ofNanos((long) percentiles[0].value(TimeUnit.NANOSECONDS));
+                }
+            }
+            return current;
+        }
+    }
+
+    public static class Config implements HasRouteId {
+        private Duration delay = Duration.ofMillis(50);
+        private double percentile = 0.95;
+        private long minSamples = 100;
+        private String routeId;
+
+        public Duration getDelay() {
+            return delay;
+        }
+
+        public void setDelay(Duration delay) {
+            this.delay = delay;
+        }
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public long getMinSamples() {
+            return minSamples;
+        }
+
+        public void setMinSamples(long minSamples) {
+            this.minSamples = minSamples;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.monks.api_gateway.resilience;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.client.ServiceInstance;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One circuit breaker per backend instance, fed with the outcome and latency of every call the
+ * gateway makes to it. Breakers are created on first use and exported as resilience4j metrics.
+ */
+public class InstanceHealth {
+
+    private final CircuitBreakerRegistry registry;
+
+    public InstanceHealth(InstanceHealthProperties properties, MeterRegistry meterRegistry) {
+        CircuitBreakerConfig config = CircuitBreakerConfig.custom()
+                .failureRateThreshold(properties.failureRateThreshold())
+                .slowCallDurationThreshold(properties.slowCallDuration())
+                .slowCallRateThreshold(properties.slowCallRateThreshold())
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(properties.windowSize())
+                .minimumNumberOfCalls(properties.minimumCalls())
+                .waitDurationInOpenState(properties.ejectionTime())
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .build();
+        this.registry = CircuitBreakerRegistry.of(config);
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+    }
+
+    public void record(ServiceInstance instance, long durationNanos, boolean failed) {
+        CircuitBreaker breaker = breaker(instance);
+        if (failed) {
+            breaker.onError(durationNanos, TimeUnit.NANOSECONDS, new InstanceFailure());
+        } else {
+            breaker.onSuccess(durationNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // Open breakers eject; half-open ones take their trial calls through normal balancing
+    public boolean isAvailable(ServiceInstance instance) {
+        return breaker(instance).getState() != CircuitBreaker.State.OPEN;
+    }
+
+    // Never hands back an empty list: if every instance is ejected, all of them stay eligible
+    public List<ServiceInstance> available(List<ServiceInstance> instances) {
+        List<ServiceInstance> available = instances.stream().filter(this::isAvailable).toList();
+        return available.isEmpty() ? instances : available;
+    }
+
+    private CircuitBreaker breaker(ServiceInstance instance) {
+        String id = instance.getInstanceId() != null ? instance.getInstanceId()
+                : instance.getServiceId() + "@" + instance.getHost() + ":" + instance.getPort();
+        return registry.circuitBreaker(id);
+    }
+
+    // Stands in for the status code or exception; only its presence matters to the breaker
+    private static final class InstanceFailure extends RuntimeException {
+        private InstanceFailure() {
+            super(null, null, false, false);
+        }
+    }
+}
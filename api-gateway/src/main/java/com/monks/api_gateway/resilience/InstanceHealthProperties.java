@@ -0,0 +1,26 @@
+package com.monks.api_gateway.resilience;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Per-instance circuit breaker settings. An instance whose breaker is open is left out of load balancing.
+ *
+ * @param failureRateThreshold     percentage of failed calls (errors and 5xx) that opens the breaker
+ * @param slowCallDuration         calls slower than this count as slow
+ * @param slowCallRateThreshold    percentage of slow calls that opens the breaker
+ * @param windowSize               calls per instance the rates are computed over
+ * @param minimumCalls             calls needed before an instance can be ejected
+ * @param ejectionTime             how long an instance stays out before trial calls are let through
+ */
+@ConfigurationProperties("shopping.gateway.instance-health")
+public record InstanceHealthProperties(
+        @DefaultValue("50") float failureRateThreshold,
+        @DefaultValue("2s") Duration slowCallDuration,
+        @DefaultValue("80") float slowCallRateThreshold,
+        @DefaultValue("20") int windowSize,
+        @DefaultValue("10") int minimumCalls,
+        @DefaultValue("30s") Duration ejectionTime) {
+}
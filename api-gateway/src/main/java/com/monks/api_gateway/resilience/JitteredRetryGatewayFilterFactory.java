@@ -0,0 +1,110 @@
+package com.monks.api_gateway.resilience;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import reactor.util.retry.RetryBackoffSpec;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@code JitteredRetry} route filter: repeats idempotent requests that failed before any response
+ * reached the client (connect errors, timeouts, no instance available), with exponential backoff and
+ * jitter so retries from many requests do not arrive in lockstep. Each attempt is load balanced again.
+ */
+public class JitteredRetryGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<JitteredRetryGatewayFilterFactory.Config> {
+
+    private static final Set<HttpStatus> RETRYABLE_STATUSES = Set.of(
+            HttpStatus.BAD_GATEWAY, HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.GATEWAY_TIMEOUT);
+
+    public JitteredRetryGatewayFilterFactory() {
+        super(Config.class);
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        RetryBackoffSpec retry = Retry.backoff(config.getRetries(), config.getFirstBackoff())
+                .maxBackoff(config.getMaxBackoff())
+                .jitter(config.getJitter())
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure()); // the client sees the last real error
+        return (exchange, chain) -> {
+            if (!config.getMethods().contains(exchange.getRequest().getMethod())) {
+                return chain.filter(exchange);
+            }
+            return Mono.defer(() -> {
+                        ServerWebExchangeUtils.reset(exchange); // clears the routing state of a previous attempt
+                        return chain.filter(exchange);
+                    })
+                    .retryWhen(retry.filter(ex -> isRetryable(exchange, ex)));
+        };
+    }
+
+    private static boolean isRetryable(ServerWebExchange exchange, Throwable ex) {
+        if (exchange.getResponse().isCommitted()) {
+            return false;
+        }
+        if (ex instanceof ResponseStatusException status) {
+            return RETRYABLE_STATUSES.contains(HttpStatus.resolve(status.getStatusCode().value()));
+        }
+        return ex instanceof IOException || ex instanceof TimeoutException;
+    }
+
+    public static class Config {
+        private int retries = 2;
+        private List<HttpMethod> methods = List.of(HttpMethod.GET, HttpMethod.HEAD, HttpMethod.OPTIONS);
+        private Duration firstBackoff = Duration.ofMillis(50);
+        private Duration maxBackoff = Duration.ofMillis(500);
+        private double jitter = 0.5;
+
+        public int getRetries() {
+            return retries;
+        }
+
+        public void setRetries(int retries) {
+            this.retries = retries;
+        }
+
+        public List<HttpMethod> getMethods() {
+            return methods;
+        }
+
+        public void setMethods(List<HttpMethod> methods) {
+            this.methods = methods;
+        }
+
+        public Duration getFirstBackoff() {
+            return firstBackoff;
+        }
+
+        public void setFirstBackoff(Duration firstBackoff) {
+            this.firstBackoff = firstBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+
+        public double getJitter() {
+            return jitter;
+        }
+
+        public void setJitter(double jitter) {
+            this.jitter = jitter;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.monks.api_gateway.limit;
+
+import com.monks.api_gateway.limit.ConcurrencyLimitGatewayFilterFactory.Limiter;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConcurrencyLimitGatewayFilterFactoryTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    @Test
+    void rejectsOnceSlotsAndQueueAreFull() {
+        Limiter limiter = new Limiter(1, 1);
+        limiter.acquire(WAIT).block();
+        limiter.acquire(WAIT).subscribe();
+
+        StepVerifier.create(limiter.acquire(WAIT)).expectNext(false).verifyComplete();
+        StepVerifier.create(new Limiter(1, 1).acquire(Duration.ZERO)).expectNext(true).verifyComplete();
+    }
+
+    @Test
+    void releaseHandsTheSlotToTheOldestWaiter() {
+        Limiter limiter = new Limiter(1, 2);
+        limiter.acquire(WAIT).block();
+
+        StepVerifier.create(limiter.acquire(WAIT))
+                .then(() -> assertEquals(1, limiter.queued()))
+                .then(limiter::release)
+                .expectNext(true)
+                .verifyComplete();
+        assertEquals(1, limiter.inFlight());
+        assertEquals(0, limiter.queued());
+    }
+
+    @Test
+    void timedOutWaiterLeavesTheQueue() {
+        Limiter limiter = new Limiter(1, 1);
+        limiter.acquire(WAIT).block();
+
+        StepVerifier.withVirtualTime(() -> limiter.acquire(Duration.ofMillis(100)))
+                .expectSubscription()
+                .thenAwait(Duration.ofMillis(100))
+                .expectNext(false)
+                .verifyComplete();
+        assertEquals(0, limiter.queued());
+
+        limiter.release(); // nobody to hand the slot to
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void cancelledWaiterLeavesTheQueue() {
+        Limiter limiter = new Limiter(1, 1);
+        limiter.acquire(WAIT).block();
+
+        Disposable waiter = limiter.acquire(WAIT).subscribe();
+        assertEquals(1, limiter.queued());
+        waiter.dispose();
+        assertEquals(0, limiter.queued());
+
+        limiter.release();
+        assertEquals(0, limiter.inFlight());
+    }
+
+    @Test
+    void noSlotIsLostWhenWaitersTimeOutOrCancelDuringHandoff() {
+        Limiter limiter = new Limiter(4, 64);
+
+        Flux.range(0, 2000)
+                // Shaped like the filter: the request releases its slot however it ends
+                .flatMap(i -> limiter.acquire(Duration.ofMillis(ThreadLocalRandom.current().nextInt(1, 3)))
+                        .flatMap(acquired -> acquired
+                                ? Mono.delay(Duration.ofMillis(1)).doFinally(signal -> limiter.release()).thenReturn(true)
+                                : Mono.just(false))
+                        .take(Duration.ofMillis(ThreadLocalRandom.current().nextInt(1, 3))) // a client going away
+                        .subscribeOn(Schedulers.parallel()), 64)
+                .blockLast(Duration.ofSeconds(30));
+
+        assertEquals(0, limiter.inFlight());
+        assertEquals(0, limiter.queued());
+    }
+}
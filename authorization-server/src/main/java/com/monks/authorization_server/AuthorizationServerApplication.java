@@ -1,9 +1,16 @@
 package com.monks.authorization_server;
 
+import com.monks.authorization_server.config.AuthorizationServerRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableScheduling
+@ImportRuntimeHints(AuthorizationServerRuntimeHints.class)
 public class AuthorizationServerApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,26 @@
+package com.monks.authorization_server.config;
+
+import com.monks.authorization_server.keys.RotatingJwkSource;
+import com.monks.authorization_server.keys.SigningKeyProperties;
+import com.monks.authorization_server.keys.TokenProperties;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection for native images on the security configuration, the key and token property records,
+ * and the key source whose scheduled rotation is invoked reflectively.
+ */
+public class AuthorizationServerRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                TokenProperties.class, SigningKeyProperties.class);
+        hints.reflection()
+                .registerType(SecurityConfig.class,
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS)
+                .registerType(RotatingJwkSource.class, MemberCategory.INVOKE_PUBLIC_METHODS);
+    }
+}
@@ -1,8 +1,8 @@
 package com.monks.authorization_server.config;
 
-import com.nimbusds.jose.jwk.JWKSet;
-import com.nimbusds.jose.jwk.RSAKey;
-import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
+import com.monks.authorization_server.keys.RotatingJwkSource;
+import com.monks.authorization_server.keys.SigningKeyProperties;
+import com.monks.authorization_server.keys.TokenProperties;
 import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.SecurityContext;
 import org.springframework.context.annotation.Bean;
@@ -11,18 +11,17 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configuration.OAuth2AuthorizationServerConfiguration;
 import org.springframework.security.oauth2.core.AuthorizationGrantType;
 import org.springframework.security.oauth2.core.ClientAuthenticationMethod;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.server.authorization.client.InMemoryRegisteredClientRepository;
 import org.springframework.security.oauth2.server.authorization.client.RegisteredClient;
 import org.springframework.security.oauth2.server.authorization.client.RegisteredClientRepository;
 import org.springframework.security.oauth2.server.authorization.settings.AuthorizationServerSettings;
 import org.springframework.security.oauth2.server.authorization.settings.TokenSettings;
+import org.springframework.security.oauth2.server.authorization.token.JwtEncodingContext;
+import org.springframework.security.oauth2.server.authorization.token.OAuth2TokenCustomizer;
 
-import java.security.KeyPair;
-import java.security.KeyPairGenerator;
-import java.security.interfaces.RSAPrivateKey;
-import java.security.interfaces.RSAPublicKey;
-import java.time.Duration;
+import java.time.Clock;
 import java.util.UUID;
 
 @Configuration
@@ -74,7 +73,7 @@ public class SecurityConfig {
 
     // ==================== CLIENTS (in-memory) ====================
     @Bean
-    RegisteredClientRepository registeredClientRepository() {
+    RegisteredClientRepository registeredClientRepository(TokenProperties tokenProperties) {
         RegisteredClient gatewayClient = RegisteredClient.withId(UUID.randomUUID().toString())
                 .clientId("api-gateway")
                 .clientSecret("{noop}secret123")
@@ -83,36 +82,27 @@ public class SecurityConfig {
                 .redirectUri("http://localhost:9090/login/oauth2/code/gateway")
                 .scope("read")
                 .scope("write")
-                .tokenSettings(TokenSettings.builder().accessTokenTimeToLive(Duration.ofMinutes(5L)).build())
+                .tokenSettings(TokenSettings.builder()
+                        .accessTokenTimeToLive(tokenProperties.accessTokenTimeToLive("api-gateway"))
+                        .build())
                 .build();
 
         return new InMemoryRegisteredClientRepository(gatewayClient);
     }
 
     // ==================== JWT SIGNING KEYS ====================
+    // Persistent keys survive restarts, so outstanding tokens stay valid and clients don't refetch all at once
     @Bean
-    public JWKSource<SecurityContext> jwkSource() {
-        RSAKey rsaKey = generateRsaKey();
-        JWKSet jwkSet = new JWKSet(rsaKey);
-        return new ImmutableJWKSet<>(jwkSet);
+    public RotatingJwkSource jwkSource(SigningKeyProperties signingKeyProperties) {
+        return new RotatingJwkSource(signingKeyProperties, Clock.systemUTC());
     }
 
-    private RSAKey generateRsaKey() {
-        try {
-            KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
-            keyPairGenerator.initialize(2048);
-            KeyPair keyPair = keyPairGenerator.generateKeyPair();
-
-            RSAPublicKey publicKey = (RSAPublicKey) keyPair.getPublic();
-            RSAPrivateKey privateKey = (RSAPrivateKey) keyPair.getPrivate();
-
-            return new RSAKey.Builder(publicKey)
-                    .privateKey(privateKey)
-                    .keyID(UUID.randomUUID().toString())
-                    .build();
-        } catch (Exception ex) {
-            throw new IllegalStateException("Failed to generate RSA key", ex);
-        }
+    // Sign with the current key only; the published next key just sits in the JWKS until rotation
+    @Bean
+    OAuth2TokenCustomizer<JwtEncodingContext> signingKeyCustomizer(RotatingJwkSource jwkSource) {
+        return context -> context.getJwsHeader()
+                .algorithm(SignatureAlgorithm.from(jwkSource.algorithm().getName()))
+                .keyId(jwkSource.signingKeyId());
     }
 
     @Bean
@@ -0,0 +1,163 @@
+package com.monks.authorization_server.keys;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.KeySourceException;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.jwk.source.JWKSource;
+import com.nimbusds.jose.proc.SecurityContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * File-backed signing keys with scheduled rotation. Keys are ordered by issue time: the newest one is
+ * the "next" key, published for a full rotation interval before it signs anything so verifiers already
+ * have it cached when it takes over; the one before it is the "current" signing key; older keys stay
+ * published for {@link SigningKeyProperties#retention()} so outstanding tokens keep verifying.
+ */
+public class RotatingJwkSource implements JWKSource<SecurityContext> {
+
+    private static final Logger log = LoggerFactory.getLogger(RotatingJwkSource.class);
+
+    private final SigningKeyProperties properties;
+    private final JWSAlgorithm algorithm;
+    private final Clock clock;
+
+    private volatile JWKSet jwkSet;
+    private volatile JWK signingKey;
+
+    public RotatingJwkSource(SigningKeyProperties properties, Clock clock) {
+        this.properties = properties;
+        this.algorithm = JWSAlgorithm.parse(properties.algorithm());
+        if (!JWSAlgorithm.RS256.equals(algorithm) && !JWSAlgorithm.ES256.equals(algorithm)) {
+            throw new IllegalStateException("Unsupported signing algorithm: " + properties.algorithm());
+        }
+        this.clock = clock;
+        load();
+        rotateIfDue();
+    }
+
+    @Override
+    public List<JWK> get(JWKSelector jwkSelector, SecurityContext context) throws KeySourceException {
+        return jwkSelector.select(jwkSet);
+    }
+
+    public JWSAlgorithm algorithm() {
+        return algorithm;
+    }
+
+    public String signingKeyId() {
+        return signingKey.getKeyID();
+    }
+
+    /**
+     * Promotes the next key once the current one has signed for a full rotation interval, generates a
+     * new next key and drops keys retired for longer than the retention period.
+     */
+    @Scheduled(fixedDelayString = "${authorization.keys.check-interval:1h}")
+    public synchronized void rotateIfDue() {
+        Instant now = Instant.now(clock);
+        List<JWK> keys = new ArrayList<>(jwkSet.getKeys());
+        keys.sort(Comparator.comparing(JWK::getIssueTime));
+        List<JWK> candidates = keys.stream().filter(key -> algorithm.equals(key.getAlgorithm())).toList();
+
+        boolean changed = false;
+        if (candidates.size() < 2) {
+            // First start, or the algorithm was switched: bring up a current and a next key
+            for (int i = candidates.size(); i < 2; i++) {
+                keys.add(generate(now.plusMillis(i)));
+            }
+            changed = true;
+        } else if (!now.isBefore(candidates.getLast().getIssueTime().toInstant()
+                .plus(properties.rotationInterval()))) {
+            // The next key has been published for a full interval, so every verifier has it by now
+            keys.add(generate(now));
+            changed = true;
+        }
+
+        keys.sort(Comparator.comparing(JWK::getIssueTime));
+        List<JWK> signing = keys.stream().filter(key -> algorithm.equals(key.getAlgorithm())).toList();
+        JWK current = signing.get(signing.size() - 2);
+        Instant retiredBefore = now.minus(properties.retention());
+        // A key is published as next for one interval, signs for the following one, then retires
+        changed |= keys.removeIf(key -> key != current && key != signing.getLast()
+                && key.getIssueTime().toInstant().plus(properties.rotationInterval().multipliedBy(2))
+                .isBefore(retiredBefore));
+
+        this.signingKey = current;
+        this.jwkSet = new JWKSet(keys);
+        if (changed) {
+            save();
+            log.info("Signing key {} active, next key {} published", current.getKeyID(), signing.getLast().getKeyID());
+        }
+    }
+
+    private JWK generate(Instant issuedAt) {
+        try {
+            String keyId = UUID.randomUUID().toString();
+            if (JWSAlgorithm.ES256.equals(algorithm)) {
+                return new ECKeyGenerator(Curve.P_256)
+                        .keyID(keyId).keyUse(KeyUse.SIGNATURE).algorithm(algorithm).issueTime(Date.from(issuedAt))
+                        .generate();
+            }
+            return new RSAKeyGenerator(RSAKeyGenerator.MIN_KEY_SIZE_BITS)
+                    .keyID(keyId).keyUse(KeyUse.SIGNATURE).algorithm(algorithm).issueTime(Date.from(issuedAt))
+                    .generate();
+        } catch (JOSEException ex) {
+            throw new IllegalStateException("Failed to generate " + algorithm + " key", ex);
+        }
+    }
+
+    private void load() {
+        Path file = properties.file();
+        if (!Files.exists(file)) {
+            jwkSet = new JWKSet();
+            return;
+        }
+        try {
+            jwkSet = JWKSet.parse(Files.readString(file, StandardCharsets.UTF_8));
+        } catch (IOException | ParseException ex) {
+            throw new IllegalStateException("Failed to read signing keys from " + file, ex);
+        }
+    }
+
+    // Write to a temporary file and move it into place so a crash never leaves a truncated key set
+    private void save() {
+        Path file = properties.file().toAbsolutePath();
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), "jwks", ".tmp");
+            try {
+                Files.setPosixFilePermissions(temp, PosixFilePermissions.fromString("rw-------"));
+            } catch (UnsupportedOperationException ignored) {
+                // non-POSIX file system
+            }
+            Files.writeString(temp, jwkSet.toString(false), StandardCharsets.UTF_8);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to write signing keys to " + file, ex);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.monks.authorization_server.keys;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * @param file              JWK set file holding the private keys; survives restarts
+ * @param algorithm         RS256 (RSA-2048) or ES256 (P-256, much cheaper to sign and verify)
+ * @param rotationInterval  how long a key signs before the published next key takes over
+ * @param retention         how long a retired key stays published; must exceed the longest access token TTL
+ */
+@ConfigurationProperties("authorization.keys")
+public record SigningKeyProperties(
+        @DefaultValue("keys/jwks.json") Path file,
+        @DefaultValue("RS256") String algorithm,
+        @DefaultValue("30d") Duration rotationInterval,
+        @DefaultValue("1d") Duration retention) {
+}
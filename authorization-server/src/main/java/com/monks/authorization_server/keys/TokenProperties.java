@@ -0,0 +1,24 @@
+package com.monks.authorization_server.keys;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * @param accessTokenTimeToLive default access token lifetime
+ * @param clients               per client id overrides of the access token lifetime
+ */
+@ConfigurationProperties("authorization.tokens")
+public record TokenProperties(
+        @DefaultValue("5m") Duration accessTokenTimeToLive,
+        Map<String, Duration> clients) {
+
+    public Duration accessTokenTimeToLive(String clientId) {
+        if (clients == null) {
+            return accessTokenTimeToLive;
+        }
+        return clients.getOrDefault(clientId, accessTokenTimeToLive);
+    }
+}
@@ -0,0 +1,70 @@
+package com.monks.mongo;
+
+import com.mongodb.MongoCompressor;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionPoolListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.mongodb.autoconfigure.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Import into the Mongo-backed services. Sizes the reactive driver's connection pool and compression from
+ * {@link MongoClientProperties} and times every connection checkout.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(MongoClientProperties.class)
+public class MongoClientConfiguration {
+
+    @Bean
+    MongoClientSettingsBuilderCustomizer mongoConnectionPool(MongoClientProperties mongo, MeterRegistry meterRegistry) {
+        return settings -> settings
+                .applyToConnectionPoolSettings(pool -> pool
+                        .minSize(mongo.minPoolSize())
+                        .maxSize(mongo.maxPoolSize())
+                        .maxConnecting(mongo.maxConnecting())
+                        .maxWaitTime(mongo.maxWaitTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .maxConnectionIdleTime(mongo.maxConnectionIdleTime().toMillis(), TimeUnit.MILLISECONDS)
+                        .addConnectionPoolListener(new CheckoutTimer(meterRegistry)))
+                .compressorList(mongo.compressors().stream().map(MongoClientConfiguration::compressor).toList());
+    }
+
+    private static MongoCompressor compressor(MongoClientProperties.Compressor compressor) {
+        return switch (compressor) {
+            case ZSTD -> MongoCompressor.createZstdCompressor();
+            case SNAPPY -> MongoCompressor.createSnappyCompressor();
+            case ZLIB -> MongoCompressor.createZlibCompressor();
+        };
+    }
+
+    // Time to get a pooled connection, queueing included; Boot's pool metrics add the size, in-use and queue gauges
+    private record CheckoutTimer(MeterRegistry registry) implements ConnectionPoolListener {
+
+        @Override
+        public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+            record(event.getConnectionId().getServerId(), "success", event.getElapsedTime(TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+            record(event.getServerId(), event.getReason().name().toLowerCase(),
+                    event.getElapsedTime(TimeUnit.NANOSECONDS));
+        }
+
+        private void record(ServerId server, String outcome, long nanos) {
+            Timer.builder("mongodb.driver.pool.checkout")
+                    .description("Time to check out a pooled connection, including the wait for a free one")
+                    .tag("cluster.id", server.getClusterId().getValue())
+                    .tag("server.address", server.getAddress().toString())
+                    .tag("outcome", outcome)
+                    .register(registry)
+                    .record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
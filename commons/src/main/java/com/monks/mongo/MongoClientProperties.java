@@ -0,0 +1,36 @@
+package com.monks.mongo;
+
+import com.mongodb.ReadPreference;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Applied on top of {@code spring.mongodb.*}, so these win over pool options in a connection string.
+ *
+ * @param minPoolSize            connections per server kept open while idle
+ * @param maxPoolSize            connections per server; further checkouts wait for one to be returned
+ * @param maxConnecting          connections per server being established at the same time
+ * @param maxWaitTime            how long a checkout waits for a connection before failing the query
+ * @param maxConnectionIdleTime  idle connections are closed after this, 0 keeps them
+ * @param compressors            wire compression offered to the server, in order of preference
+ * @param listReadPreference     where list queries read from, e.g. secondaryPreferred
+ */
+@ConfigurationProperties("shopping.mongo")
+public record MongoClientProperties(
+        @DefaultValue("0") int minPoolSize,
+        @DefaultValue("100") int maxPoolSize,
+        @DefaultValue("2") int maxConnecting,
+        @DefaultValue("2s") Duration maxWaitTime,
+        @DefaultValue("0s") Duration maxConnectionIdleTime,
+        @DefaultValue List<Compressor> compressors,
+        @DefaultValue("primary") ReadPreference listReadPreference) {
+
+    public enum Compressor {
+        ZSTD,   // needs com.github.luben:zstd-jni
+        SNAPPY, // needs org.xerial.snappy:snappy-java
+        ZLIB
+    }
+}
@@ -0,0 +1,39 @@
+package com.monks.mongo;
+
+import com.mongodb.MongoException;
+
+import java.util.function.Predicate;
+
+/**
+ * Server error codes and labels the services react to. Spring translates driver exceptions, so they
+ * are looked up along the cause chain.
+ */
+public final class MongoErrors {
+
+    /** The resume token is no longer in the oplog, so the stream can only restart from now. */
+    public static final int CHANGE_STREAM_HISTORY_LOST = 286;
+    /** Change streams need a replica set; a standalone server answers with this. */
+    public static final int NOT_A_REPLICA_SET = 40573;
+    /** The whole transaction can be run again, e.g. after losing a write conflict to a concurrent one. */
+    public static final String TRANSIENT_TRANSACTION_ERROR = "TransientTransactionError";
+
+    private MongoErrors() {
+    }
+
+    public static boolean hasCode(Throwable ex, int code) {
+        return anyCause(ex, mongo -> mongo.getCode() == code);
+    }
+
+    public static boolean hasLabel(Throwable ex, String label) {
+        return anyCause(ex, mongo -> mongo.hasErrorLabel(label));
+    }
+
+    private static boolean anyCause(Throwable ex, Predicate<MongoException> test) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoException mongo && test.test(mongo)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
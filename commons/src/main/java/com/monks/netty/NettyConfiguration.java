@@ -0,0 +1,28 @@
+package com.monks.netty;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ReactorResourceFactory;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Import into WebFlux applications to size the HTTP server's event loops from {@link NettyProperties}.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(NettyProperties.class)
+public class NettyConfiguration {
+
+    // Replaces Boot's factory for the HTTP server; sized loops only when asked, otherwise Reactor Netty's globals
+    @Bean
+    ReactorResourceFactory reactorServerResourceFactory(NettyProperties netty) {
+        ReactorResourceFactory factory = new ReactorResourceFactory();
+        if (netty.eventLoopThreads() > 0) {
+            factory.setUseGlobalResources(false);
+            // A supplier, so the factory owns the loops and shuts them down with the context
+            factory.setLoopResourcesSupplier(
+                    () -> LoopResources.create("reactor-http", netty.eventLoopThreads(), true));
+        }
+        return factory;
+    }
+}
@@ -0,0 +1,13 @@
+package com.monks.netty;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param eventLoopThreads threads serving HTTP connections, 0 keeps Reactor Netty's default of one per CPU
+ *                         (at least 4)
+ */
+@ConfigurationProperties("shopping.netty")
+public record NettyProperties(
+        @DefaultValue("0") int eventLoopThreads) {
+}
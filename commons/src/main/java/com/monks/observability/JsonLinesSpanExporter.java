@@ -0,0 +1,102 @@
+package com.monks.observability;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Appends finished spans to a file, one JSON object per line. The exporter owns the file:
+ * every batch is flushed, and {@link #shutdown()} closes it.
+ */
+class JsonLinesSpanExporter implements SpanExporter {
+
+    private static final AttributeKey<String> SERVICE_NAME = AttributeKey.stringKey("service.name");
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+    private final Writer out;
+    private boolean closed;
+
+    JsonLinesSpanExporter(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        this.out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        if (closed) {
+            return CompletableResultCode.ofFailure();
+        }
+        try {
+            for (SpanData span : spans) {
+                out.write(mapper.writeValueAsString(toJson(span)));
+                out.write('\n');
+            }
+            out.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException | JacksonException ex) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode flush() {
+        if (closed) {
+            return CompletableResultCode.ofSuccess();
+        }
+        try {
+            out.flush();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException ex) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        if (closed) {
+            return CompletableResultCode.ofSuccess();
+        }
+        closed = true;
+        try {
+            out.close();
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException ex) {
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    private static Map<String, Object> toJson(SpanData span) {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("service", span.getResource().getAttribute(SERVICE_NAME));
+        json.put("traceId", span.getTraceId());
+        json.put("spanId", span.getSpanId());
+        if (span.getParentSpanContext().isValid()) {
+            json.put("parentSpanId", span.getParentSpanId());
+        }
+        json.put("name", span.getName());
+        json.put("kind", span.getKind().name());
+        json.put("startEpochNanos", span.getStartEpochNanos());
+        json.put("endEpochNanos", span.getEndEpochNanos());
+        json.put("status", span.getStatus().getStatusCode().name());
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), value));
+        json.put("attributes", attributes);
+        return json;
+    }
+}
@@ -0,0 +1,75 @@
+package com.monks.observability;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.mongodb.autoconfigure.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.observability.ContextProviderFactory;
+import org.springframework.data.mongodb.observability.MongoObservationCommandListener;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.function.SingletonSupplier;
+import reactor.core.observability.micrometer.Micrometer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+/**
+ * Import into the Mongo-backed services, next to {@link TracingConfiguration}. Each MongoDB command and each
+ * repository method call becomes an observation, nested under the request that issued it.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MongoObservationConfiguration {
+
+    // One span and spring.data.mongodb.command timer per Mongo command, under the observation that issued it
+    @Bean
+    MongoClientSettingsBuilderCustomizer mongoObservation(ObservationRegistry registry) {
+        return settings -> settings
+                .contextProvider(ContextProviderFactory.create(registry))
+                .addCommandListener(new MongoObservationCommandListener(registry));
+    }
+
+    // spring.data.repository.invocations per repository method, from subscription until the query completes
+    @Bean
+    static BeanPostProcessor repositoryObservation(ObjectProvider<ObservationRegistry> registry) {
+        Supplier<ObservationRegistry> observations =
+                SingletonSupplier.of(() -> registry.getIfAvailable(() -> ObservationRegistry.NOOP));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> repositoryFactory) {
+                    repositoryFactory.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxy, information) -> proxy.addAdvice(new ObservedRepositoryMethods(
+                                    information.getRepositoryInterface().getSimpleName(), observations))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Timing the method call itself would only measure assembling the Mono or Flux
+    private record ObservedRepositoryMethods(String repository, Supplier<ObservationRegistry> registry)
+            implements MethodInterceptor {
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            Object result = invocation.proceed();
+            String method = invocation.getMethod().getName();
+            if (result instanceof Mono<?> mono) {
+                return mono.name("spring.data.repository.invocations")
+                        .tag("repository", repository).tag("method", method)
+                        .tap(Micrometer.observation(registry.get()));
+            }
+            if (result instanceof Flux<?> flux) {
+                return flux.name("spring.data.repository.invocations")
+                        .tag("repository", repository).tag("method", method)
+                        .tap(Micrometer.observation(registry.get()));
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.monks.observability;
+
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+/**
+ * Import next to Spring Boot's OpenTelemetry support. Spans go to the OTLP endpoint in
+ * {@code management.opentelemetry.tracing.export.otlp.endpoint} when one is set, and with
+ * {@code shopping.tracing.file} also to a local file, for runs without a collector.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(TracingProperties.class)
+public class TracingConfiguration {
+
+    // Spring Boot hands every SpanExporter bean to the tracer's batch processor
+    @Bean
+    @ConditionalOnProperty(name = "shopping.tracing.file")
+    SpanExporter fileSpanExporter(TracingProperties properties) throws IOException {
+        return new JsonLinesSpanExporter(properties.file());
+    }
+}
@@ -0,0 +1,12 @@
+package com.monks.observability;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * @param file append finished spans here, one JSON object per line; unset to export over OTLP only
+ */
+@ConfigurationProperties("shopping.tracing")
+public record TracingProperties(Path file) {
+}
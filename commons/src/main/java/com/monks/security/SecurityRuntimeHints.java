@@ -0,0 +1,27 @@
+package com.monks.security;
+
+import com.monks.security.internal.InternalTokenProperties;
+import com.monks.security.jwt.JwtDecoderProperties;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection for native images on the shared security setup: the property records, bound by constructor
+ * and read outside of bean definitions, and each application's own security configuration.
+ */
+public class SecurityRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                JwtDecoderProperties.class, InternalTokenProperties.class);
+    }
+
+    // For an application's registrar: its @Configuration with the security filter chain
+    public static void registerSecurityConfig(RuntimeHints hints, Class<?> securityConfig) {
+        hints.reflection().registerType(securityConfig,
+                MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS);
+    }
+}
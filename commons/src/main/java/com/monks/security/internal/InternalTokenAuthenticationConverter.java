@@ -0,0 +1,30 @@
+package com.monks.security.internal;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.oauth2.server.resource.authentication.BearerTokenAuthenticationToken;
+import org.springframework.security.oauth2.server.resource.web.server.authentication.ServerBearerTokenAuthenticationConverter;
+import org.springframework.security.web.server.authentication.ServerAuthenticationConverter;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+// Prefers the gateway's internal token header over the Authorization bearer token when internal mode is on
+public class InternalTokenAuthenticationConverter implements ServerAuthenticationConverter {
+
+    private final InternalTokenProperties properties;
+    private final ServerBearerTokenAuthenticationConverter bearer = new ServerBearerTokenAuthenticationConverter();
+
+    public InternalTokenAuthenticationConverter(InternalTokenProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public Mono<Authentication> convert(ServerWebExchange exchange) {
+        if (properties.enabled()) {
+            String token = exchange.getRequest().getHeaders().getFirst(properties.header());
+            if (token != null && !token.isBlank()) {
+                return Mono.just(new BearerTokenAuthenticationToken(token));
+            }
+        }
+        return bearer.convert(exchange);
+    }
+}
@@ -0,0 +1,34 @@
+package com.monks.security.internal;
+
+import com.monks.security.jwt.JwtDecoderConfiguration;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+
+/**
+ * For the services behind the gateway: the {@link JwtDecoderConfiguration} decoder, which with
+ * {@code shopping.security.internal.enabled} also accepts the gateway's HMAC-signed internal tokens.
+ * The gateway itself must not import this, or a leaked internal token would authenticate at the edge.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(InternalTokenProperties.class)
+public class InternalTokenConfiguration extends JwtDecoderConfiguration {
+
+    private final InternalTokenProperties properties;
+
+    public InternalTokenConfiguration(InternalTokenProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    protected ReactiveJwtDecoder accepting(ReactiveJwtDecoder external, MeterRegistry meterRegistry) {
+        return properties.enabled() ? new InternalTokenJwtDecoder(properties, external, meterRegistry) : external;
+    }
+
+    @Bean
+    InternalTokenAuthenticationConverter internalTokenAuthenticationConverter() {
+        return new InternalTokenAuthenticationConverter(properties);
+    }
+}
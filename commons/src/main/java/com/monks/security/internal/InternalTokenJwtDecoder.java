@@ -0,0 +1,67 @@
+package com.monks.security.internal;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.util.Base64URL;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtValidators;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.text.ParseException;
+import java.time.Duration;
+
+/**
+ * Routes HS256 internal tokens minted by the gateway to a MAC verifier and everything else to
+ * {@code external}. Only the JOSE header is parsed to decide.
+ */
+public class InternalTokenJwtDecoder implements ReactiveJwtDecoder {
+
+    private final ReactiveJwtDecoder internal;
+    private final ReactiveJwtDecoder external;
+    private final Timer verification;
+
+    public InternalTokenJwtDecoder(InternalTokenProperties properties, ReactiveJwtDecoder external,
+                                   MeterRegistry meterRegistry) {
+        NimbusReactiveJwtDecoder macDecoder = NimbusReactiveJwtDecoder
+                .withSecretKey(new SecretKeySpec(properties.secretBytes(), "HmacSHA256"))
+                .macAlgorithm(MacAlgorithm.HS256)
+                .build();
+        macDecoder.setJwtValidator(JwtValidators.createDefaultWithIssuer(properties.issuer()));
+        this.internal = macDecoder;
+        this.external = external;
+        this.verification = Timer.builder("jwt.verification")
+                .description("Signature and claim verification of incoming tokens")
+                .tag("type", "internal")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Jwt> decode(String token) {
+        if (!isInternal(token)) {
+            return external.decode(token);
+        }
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return internal.decode(token)
+                    .doOnNext(jwt -> verification.record(Duration.ofNanos(System.nanoTime() - start)));
+        });
+    }
+
+    private static boolean isInternal(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return false;
+        }
+        try {
+            return JWSAlgorithm.HS256.equals(JWSHeader.parse(new Base64URL(token.substring(0, dot))).getAlgorithm());
+        } catch (ParseException ex) {
+            return false; // let the external decoder report the malformed token
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.monks.security.internal;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.MACSigner;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtClaimNames;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Date;
+import java.util.Set;
+
+// Re-signs the claims of an already verified JWT as a short-lived HS256 internal token
+public class InternalTokenMinter {
+
+    private static final Set<String> REGISTERED_CLAIMS = Set.of(JwtClaimNames.ISS, JwtClaimNames.SUB,
+            JwtClaimNames.AUD, JwtClaimNames.EXP, JwtClaimNames.NBF, JwtClaimNames.IAT, JwtClaimNames.JTI);
+
+    private final InternalTokenProperties properties;
+    private final MACSigner signer;
+    private final Timer mintTimer;
+    private final Clock clock;
+
+    public InternalTokenMinter(InternalTokenProperties properties, MeterRegistry meterRegistry, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+        try {
+            this.signer = new MACSigner(properties.secretBytes());
+        } catch (JOSEException ex) {
+            throw new IllegalStateException("Invalid internal token secret", ex);
+        }
+        this.mintTimer = Timer.builder("jwt.internal.mint")
+                .description("Signing of internal tokens forwarded by the gateway")
+                .register(meterRegistry);
+    }
+
+    public String mint(Jwt jwt) {
+        return mintTimer.record(() -> {
+            Instant now = Instant.now(clock);
+            Instant expiresAt = now.plus(properties.ttl());
+            if (jwt.getExpiresAt() != null && jwt.getExpiresAt().isBefore(expiresAt)) {
+                expiresAt = jwt.getExpiresAt();
+            }
+            JWTClaimsSet.Builder claims = new JWTClaimsSet.Builder()
+                    .issuer(properties.issuer())
+                    .subject(jwt.getSubject())
+                    .audience(jwt.getAudience())
+                    .issueTime(Date.from(now))
+                    .expirationTime(Date.from(expiresAt));
+            jwt.getClaims().forEach((name, value) -> {
+                if (!REGISTERED_CLAIMS.contains(name)) {
+                    claims.claim(name, value);
+                }
+            });
+
+            SignedJWT token = new SignedJWT(new JWSHeader(JWSAlgorithm.HS256), claims.build());
+            try {
+                token.sign(signer);
+            } catch (JOSEException ex) {
+                throw new IllegalStateException("Failed to sign internal token", ex);
+            }
+            return token.serialize();
+        });
+    }
+}
@@ -0,0 +1,46 @@
+package com.monks.security.internal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+/**
+ * Trusted-internal mode: the gateway verifies the caller's JWT once and forwards an HMAC-signed
+ * internal token in {@code header}; downstream services accept it with a cheap MAC check instead of
+ * repeating the RSA verification. Anyone holding {@code secret} can mint tokens the services accept, so
+ * enabling the mode without a real secret fails at startup.
+ */
+@ConfigurationProperties("shopping.security.internal")
+public record InternalTokenProperties(
+        @DefaultValue("false") boolean enabled,
+        String secret,
+        @DefaultValue("X-Internal-Token") String header,
+        @DefaultValue("api-gateway") String issuer,
+        @DefaultValue("60s") Duration ttl) {
+
+    private static final String PLACEHOLDER_PREFIX = "change-me";
+
+    public InternalTokenProperties {
+        if (enabled) {
+            requireUsableSecret(secret);
+        }
+    }
+
+    public byte[] secretBytes() {
+        requireUsableSecret(secret);
+        return secret.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void requireUsableSecret(String secret) {
+        if (secret == null || secret.getBytes(StandardCharsets.UTF_8).length < 32) {
+            throw new IllegalStateException(
+                    "shopping.security.internal.secret (INTERNAL_TOKEN_SECRET) must be at least 32 bytes");
+        }
+        if (secret.startsWith(PLACEHOLDER_PREFIX)) {
+            throw new IllegalStateException("shopping.security.internal.secret is still the placeholder; "
+                    + "set INTERNAL_TOKEN_SECRET");
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.monks.security.jwt;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Remembers tokens that already passed signature and claim validation, keyed by the SHA-256 of the
+ * raw token, until their {@code exp}. Repeat callers skip the RSA verification entirely.
+ * Tokens without an expiry are never cached.
+ */
+public class CachingReactiveJwtDecoder implements ReactiveJwtDecoder {
+
+    private final ReactiveJwtDecoder delegate;
+    private final Cache<String, Jwt> cache;
+    private final Timer verification;
+    private final Clock clock;
+
+    public CachingReactiveJwtDecoder(ReactiveJwtDecoder delegate, long maxSize, MeterRegistry meterRegistry,
+                                     Clock clock) {
+        this.delegate = delegate;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new UntilExpiry(clock))
+                .recordStats()
+                .build();
+        this.verification = Timer.builder("jwt.verification")
+                .description("Signature and claim verification of incoming tokens")
+                .tag("type", "external")
+                .register(meterRegistry);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.decode");
+    }
+
+    @Override
+    public Mono<Jwt> decode(String token) {
+        String key = hash(token);
+        Jwt cached = cache.getIfPresent(key);
+        if (cached != null && cached.getExpiresAt().isAfter(Instant.now(clock))) {
+            return Mono.just(cached);
+        }
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return delegate.decode(token)
+                    .doOnNext(jwt -> {
+                        verification.record(Duration.ofNanos(System.nanoTime() - start));
+                        if (jwt.getExpiresAt() != null) {
+                            cache.put(key, jwt);
+                        }
+                    });
+        });
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private record UntilExpiry(Clock clock) implements Expiry<String, Jwt> {
+
+        @Override
+        public long expireAfterCreate(String key, Jwt jwt, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(clock), jwt.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, jwt, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Jwt jwt, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.monks.security.jwt;
+
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKMatcher;
+import com.nimbusds.jose.jwk.JWKSelector;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.text.ParseException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * JWK set kept warm off the request path. The set is fetched on start and then every
+ * {@code jwks-refresh-interval}; a token signed with an unknown {@code kid} (key rotation) triggers
+ * one extra fetch, at most once per {@code jwks-min-refetch-interval}, shared by all waiting requests.
+ */
+public class JwksKeySource implements Function<SignedJWT, Flux<JWK>>, SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksKeySource.class);
+
+    private final WebClient webClient;
+    private final JwtDecoderProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Clock clock;
+
+    private final AtomicReference<JWKSet> current = new AtomicReference<>(new JWKSet());
+    private final AtomicReference<Mono<JWKSet>> inFlight = new AtomicReference<>();
+    private volatile Instant lastFetch = Instant.EPOCH;
+    private volatile Disposable refresher;
+
+    public JwksKeySource(WebClient webClient, JwtDecoderProperties properties, MeterRegistry meterRegistry,
+                         Clock clock) {
+        this.webClient = webClient;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.clock = clock;
+    }
+
+    @Override
+    public Flux<JWK> apply(SignedJWT jwt) {
+        JWKSelector selector = new JWKSelector(JWKMatcher.forJWSHeader(jwt.getHeader()));
+        List<JWK> keys = selector.select(current.get());
+        if (!keys.isEmpty()) {
+            return Flux.fromIterable(keys);
+        }
+        if (Instant.now(clock).isBefore(lastFetch.plus(properties.jwksMinRefetchInterval()))) {
+            return Flux.empty();
+        }
+        return refresh().flatMapIterable(selector::select);
+    }
+
+    // Concurrent callers share one outstanding fetch
+    Mono<JWKSet> refresh() {
+        Mono<JWKSet> fetch = inFlight.get();
+        if (fetch != null) {
+            return fetch;
+        }
+        Mono<JWKSet> created = webClient.get()
+                .uri(properties.jwkSetUri())
+                .retrieve()
+                .bodyToMono(String.class)
+                .map(this::parse)
+                .doOnNext(jwkSet -> {
+                    current.set(jwkSet);
+                    meterRegistry.counter("jwt.jwks.refresh", "outcome", "success").increment();
+                })
+                .doOnError(ex -> {
+                    meterRegistry.counter("jwt.jwks.refresh", "outcome", "failure").increment();
+                    log.warn("Failed to refresh JWK set from {}: {}", properties.jwkSetUri(), ex.getMessage());
+                })
+                .doFinally(signal -> {
+                    lastFetch = Instant.now(clock);
+                    inFlight.set(null);
+                })
+                .cache();
+        return inFlight.compareAndSet(null, created) ? created : refresh();
+    }
+
+    private JWKSet parse(String body) {
+        try {
+            return JWKSet.parse(body);
+        } catch (ParseException ex) {
+            throw new IllegalStateException("Malformed JWK set from " + properties.jwkSetUri(), ex);
+        }
+    }
+
+    @Override
+    public void start() {
+        refresher = Flux.interval(Duration.ZERO, properties.jwksRefreshInterval())
+                .concatMap(tick -> refresh().onErrorResume(ex -> Mono.empty()))
+                .subscribe();
+    }
+
+    @Override
+    public void stop() {
+        Disposable running = refresher;
+        if (running != null) {
+            running.dispose();
+            refresher = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return refresher != null;
+    }
+}
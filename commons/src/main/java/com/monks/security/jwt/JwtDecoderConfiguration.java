@@ -0,0 +1,58 @@
+package com.monks.security.jwt;
+
+import com.monks.security.SecurityRuntimeHints;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.observability.micrometer.Micrometer;
+
+import java.time.Clock;
+
+/**
+ * Import from a security config to get a {@link ReactiveJwtDecoder} that verifies the authorization server's
+ * tokens against a locally cached JWK set and remembers verified tokens. This is what the gateway accepts;
+ * the services behind it import {@link com.monks.security.internal.InternalTokenConfiguration} instead.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(JwtDecoderProperties.class)
+@ImportRuntimeHints(SecurityRuntimeHints.class)
+public class JwtDecoderConfiguration {
+
+    @Bean
+    JwksKeySource jwksKeySource(JwtDecoderProperties properties, MeterRegistry meterRegistry) {
+        return new JwksKeySource(WebClient.create(), properties, meterRegistry, Clock.systemUTC());
+    }
+
+    @Bean
+    ReactiveJwtDecoder reactiveJwtDecoder(JwksKeySource jwksKeySource, JwtDecoderProperties properties,
+                                          MeterRegistry meterRegistry,
+                                          ObjectProvider<ObservationRegistry> observationRegistry) {
+        // The authorization server signs with RS256 or ES256 depending on authorization.keys.algorithm
+        ReactiveJwtDecoder verifying = NimbusReactiveJwtDecoder.withJwkSource(jwksKeySource)
+                .jwsAlgorithm(SignatureAlgorithm.RS256)
+                .jwsAlgorithm(SignatureAlgorithm.ES256)
+                .build();
+        ReactiveJwtDecoder external = new CachingReactiveJwtDecoder(verifying, properties.cacheMaxSize(),
+                meterRegistry, Clock.systemUTC());
+        return observed(accepting(external, meterRegistry),
+                observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP));
+    }
+
+    // Which tokens are accepted besides the authorization server's; none here
+    protected ReactiveJwtDecoder accepting(ReactiveJwtDecoder external, MeterRegistry meterRegistry) {
+        return external;
+    }
+
+    // jwt.decode timer and span for every token, cache hits included, under the server request's trace
+    private static ReactiveJwtDecoder observed(ReactiveJwtDecoder decoder, ObservationRegistry registry) {
+        return token -> decoder.decode(token).name("jwt.decode").tap(Micrometer.observation(registry));
+    }
+}
@@ -0,0 +1,15 @@
+package com.monks.security.jwt;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.net.URI;
+import java.time.Duration;
+
+@ConfigurationProperties("shopping.security.jwt")
+public record JwtDecoderProperties(
+        @DefaultValue("http://localhost:9090/oauth2/jwks") URI jwkSetUri,
+        @DefaultValue("10000") long cacheMaxSize,
+        @DefaultValue("5m") Duration jwksRefreshInterval,
+        @DefaultValue("30s") Duration jwksMinRefetchInterval) {
+}
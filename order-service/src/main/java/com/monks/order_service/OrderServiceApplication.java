@@ -1,11 +1,16 @@
 package com.monks.order_service;
 
+import com.monks.order_service.config.OrderRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
 @EnableDiscoveryClient
+@ConfigurationPropertiesScan
+@ImportRuntimeHints(OrderRuntimeHints.class)
 public class OrderServiceApplication {
 
 	public static void main(String[] args) {
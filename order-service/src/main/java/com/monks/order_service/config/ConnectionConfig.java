@@ -0,0 +1,12 @@
+package com.monks.order_service.config;
+
+import com.monks.mongo.MongoClientConfiguration;
+import com.monks.netty.NettyConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+// Mongo connection pool and read routing (shopping.mongo.*), HTTP event loops (shopping.netty.*)
+@Configuration
+@Import({MongoClientConfiguration.class, NettyConfiguration.class})
+public class ConnectionConfig {
+}
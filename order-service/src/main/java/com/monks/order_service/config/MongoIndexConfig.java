@@ -0,0 +1,33 @@
+package com.monks.order_service.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import reactor.core.publisher.Flux;
+
+/**
+ * Creates the indexes declared on the mapped documents once the app is up. auto-index-creation would
+ * do it inside the blocking MongoTemplate constructor, which fails startup while Mongo is unreachable;
+ * here a failure is logged and the app keeps serving.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+public class MongoIndexConfig {
+
+    @Bean
+    ApplicationListener<ApplicationReadyEvent> mongoIndexCreator(ReactiveMongoTemplate mongoTemplate,
+                                                                 MongoMappingContext mappingContext) {
+        MongoPersistentEntityIndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+        return event -> Flux.fromIterable(mappingContext.getPersistentEntities())
+                .filter(entity -> entity.isAnnotationPresent(Document.class))
+                .flatMapIterable(resolver::resolveIndexForEntity)
+                .concatMap(index -> mongoTemplate.indexOps(index.getCollection()).createIndex(index))
+                .subscribe(null, ex -> log.warn("Could not create the Mongo indexes: {}", ex.getMessage()));
+    }
+}
@@ -0,0 +1,12 @@
+package com.monks.order_service.config;
+
+import com.monks.observability.MongoObservationConfiguration;
+import com.monks.observability.TracingConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+// OTLP and optional file export of spans, plus Mongo command and repository method observations
+@Configuration
+@Import({TracingConfiguration.class, MongoObservationConfiguration.class})
+public class ObservabilityConfig {
+}
@@ -0,0 +1,11 @@
+package com.monks.order_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("orders.analytics")
+public record OrderAnalyticsProperties(
+        @DefaultValue("false") boolean rollupEnabled,
+        @DefaultValue("30") int defaultDays,
+        @DefaultValue("100") int maxTopN) {
+}
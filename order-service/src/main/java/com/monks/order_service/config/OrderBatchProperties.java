@@ -0,0 +1,10 @@
+package com.monks.order_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("orders.batch")
+public record OrderBatchProperties(
+        @DefaultValue("500") int chunkSize,
+        @DefaultValue("4") int maxInFlightChunks) {
+}
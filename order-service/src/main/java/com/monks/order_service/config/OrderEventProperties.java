@@ -0,0 +1,33 @@
+package com.monks.order_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param enabled    tail the orders collection for /api/orders/events; needs a replica set
+ * @param bufferSize events held per subscriber that has not caught up
+ * @param overflow   what a full subscriber buffer gives up by default
+ * @param heartbeat  comment sent on idle streams so proxies keep the connection open
+ */
+@ConfigurationProperties("orders.events")
+public record OrderEventProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("256") int bufferSize,
+        @DefaultValue("LATEST") Overflow overflow,
+        @DefaultValue("15s") Duration heartbeat) {
+
+    public enum Overflow {
+        DROP,   // keep what is buffered, discard new events
+        LATEST; // discard the oldest buffered events to make room for new ones
+
+        public static Overflow parse(String value) {
+            try {
+                return Overflow.valueOf(value.toUpperCase());
+            } catch (RuntimeException ex) {
+                throw new IllegalArgumentException("overflow must be drop or latest: " + value);
+            }
+        }
+    }
+}
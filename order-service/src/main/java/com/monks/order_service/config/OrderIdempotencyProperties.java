@@ -0,0 +1,22 @@
+package com.monks.order_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * @param ttl           how long a key and its stored response are kept; the TTL index removes them afterwards
+ * @param cacheSize     completed keys remembered in process, answered without a Mongo read
+ * @param maxKeyLength  longest Idempotency-Key accepted
+ * @param claimTimeout  after this long an unfinished first request counts as crashed and may be taken over
+ * @param duplicateWait how long a duplicate waits for a first request running on another instance before a 409
+ */
+@ConfigurationProperties("orders.idempotency")
+public record OrderIdempotencyProperties(
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("10000") int cacheSize,
+        @DefaultValue("255") int maxKeyLength,
+        @DefaultValue("30s") Duration claimTimeout,
+        @DefaultValue("5s") Duration duplicateWait) {
+}
@@ -0,0 +1,32 @@
+package com.monks.order_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * @param enabled            write outbox events in a transaction with each order change; needs a replica set
+ * @param transactionRetries times a transaction that lost a write conflict is run again before answering 409
+ * @param sink               where the relay publishes when no other OutboxSink bean is defined
+ * @param file               target of the file sink, one JSON event per line
+ * @param batchSize          events read per relay pass
+ * @param pollInterval       pause between relay passes once the outbox is drained
+ * @param leaseTime          how long one instance stays the only relay without renewing; also bounds how long
+ *                           the sink may take for one order's events
+ * @param publishConcurrency orders whose events are published in parallel
+ */
+@ConfigurationProperties("orders.outbox")
+public record OrderOutboxProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("3") int transactionRetries,
+        @DefaultValue("FILE") Sink sink,
+        @DefaultValue("outbox/order-events.ndjson") Path file,
+        @DefaultValue("200") int batchSize,
+        @DefaultValue("1s") Duration pollInterval,
+        @DefaultValue("10s") Duration leaseTime,
+        @DefaultValue("8") int publishConcurrency) {
+
+    public enum Sink { FILE, MEMORY }
+}
@@ -0,0 +1,19 @@
+package com.monks.order_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("orders.paging")
+public record OrderPagingProperties(
+        @DefaultValue("50") int defaultSize,
+        @DefaultValue("500") int maxSize,
+        @DefaultValue("500") int streamBatchSize) {
+
+    // Clamp a client supplied page size to the configured cap
+    public int pageSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return defaultSize;
+        }
+        return Math.min(requested, maxSize);
+    }
+}
@@ -0,0 +1,32 @@
+package com.monks.order_service.config;
+
+import com.monks.order_service.model.CustomerTotal;
+import com.monks.order_service.model.DailyRevenue;
+import com.monks.order_service.model.Order;
+import com.monks.order_service.model.OrderDailyRollup;
+import com.monks.order_service.model.OrderIdempotencyRecord;
+import com.monks.order_service.model.OrderOutboxEvent;
+import com.monks.order_service.model.OrderSummary;
+import com.monks.order_service.model.ProductTotal;
+import com.monks.order_service.model.StatusCount;
+import com.monks.security.SecurityRuntimeHints;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection for native images on the types Spring's AOT processing cannot see from controller
+ * signatures: Lombok models and records read by aggregations, written only through the template or
+ * by the outbox's JsonMapper, or returned inside the generic OrderPage. Plus the security configuration.
+ */
+public class OrderRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(),
+                Order.class, Order.OrderItem.class, OrderSummary.class,
+                OrderDailyRollup.class, OrderOutboxEvent.class, OrderIdempotencyRecord.class,
+                DailyRevenue.class, CustomerTotal.class, ProductTotal.class, StatusCount.class);
+        SecurityRuntimeHints.registerSecurityConfig(hints, ResourceServerConfig.class);
+    }
+}
@@ -0,0 +1,23 @@
+package com.monks.order_service.config;
+
+import com.monks.order_service.outbox.FileOutboxSink;
+import com.monks.order_service.outbox.InMemoryOutboxSink;
+import com.monks.order_service.outbox.OutboxSink;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import tools.jackson.databind.json.JsonMapper;
+
+@Configuration
+public class OutboxSinkConfig {
+
+    // Declare an OutboxSink bean (Kafka, RabbitMQ, ...) to replace these
+    @Bean
+    @ConditionalOnMissingBean
+    public OutboxSink outboxSink(OrderOutboxProperties properties, JsonMapper jsonMapper) {
+        return switch (properties.sink()) {
+            case FILE -> new FileOutboxSink(properties.file(), jsonMapper);
+            case MEMORY -> new InMemoryOutboxSink(10_000);
+        };
+    }
+}
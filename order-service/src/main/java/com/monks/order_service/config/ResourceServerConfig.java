@@ -1,20 +1,23 @@
 package com.monks.order_service.config;
 
+import com.monks.security.internal.InternalTokenAuthenticationConverter;
+import com.monks.security.internal.InternalTokenConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
 import org.springframework.security.config.web.server.ServerHttpSecurity;
-import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
-import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 
 @Configuration
 @EnableWebFluxSecurity  // Explicitly enable reactive security (good practice)
+@Import(InternalTokenConfiguration.class) // Cached, locally verified ReactiveJwtDecoder, plus the gateway's internal tokens
 public class ResourceServerConfig {
 
     @Bean
-    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http,
+                                                         InternalTokenAuthenticationConverter internalTokenConverter) {
         http
                 // 1. Authorization rules (reactive style)
                 .authorizeExchange(exchanges -> exchanges
@@ -26,7 +29,8 @@ public class ResourceServerConfig {
 
                 // 2. Enable JWT validation as resource server
                 .oauth2ResourceServer(oauth2 -> oauth2
-                        .jwt(Customizer.withDefaults())   // Uses issuer-uri from properties
+                        .bearerTokenConverter(internalTokenConverter) // gateway's internal token, if present
+                        .jwt(Customizer.withDefaults())   // Uses the ReactiveJwtDecoder from InternalTokenConfiguration
                 )
                 // Common for APIs: disable unnecessary features
                 .csrf(ServerHttpSecurity.CsrfSpec::disable)   // Usually safe for pure APIs
@@ -35,9 +39,4 @@ public class ResourceServerConfig {
 
         return http.build();
     }
-
-    @Bean
-    ReactiveJwtDecoder reactiveJwtDecoder(){
-        return new NimbusReactiveJwtDecoder("http://localhost:9090/oauth2/jwks");
-    }
 }
@@ -0,0 +1,27 @@
+package com.monks.order_service.controller;
+
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import reactor.core.publisher.Mono;
+
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    // Malformed cursors, unknown projections and similar client mistakes
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Mono<String> handleBadRequest(IllegalArgumentException ex) {
+        return Mono.just(ex.getMessage());
+    }
+
+    // Version mismatch on If-Match, a status transition the current status doesn't allow,
+    // or an Idempotency-Key whose first request is still running
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Mono<String> handleConflict(ConcurrencyFailureException ex) {
+        return Mono.just(ex.getMessage());
+    }
+}
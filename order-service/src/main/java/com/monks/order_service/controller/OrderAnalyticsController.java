@@ -0,0 +1,96 @@
+package com.monks.order_service.controller;
+
+import com.monks.order_service.config.OrderAnalyticsProperties;
+import com.monks.order_service.model.CustomerTotal;
+import com.monks.order_service.model.DailyRevenue;
+import com.monks.order_service.model.ProductTotal;
+import com.monks.order_service.model.StatusCount;
+import com.monks.order_service.repository.OrderAnalyticsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+// Date ranges are whole UTC days, both ends inclusive; the default is the last orders.analytics.default-days
+@RestController
+@RequestMapping("/api/orders/analytics")
+@RequiredArgsConstructor
+public class OrderAnalyticsController {
+
+    private final OrderAnalyticsRepository analyticsRepository;
+    private final OrderAnalyticsProperties properties;
+
+    // source=rollup reads the pre-computed daily documents instead of aggregating orders
+    @GetMapping("/revenue")
+    public Flux<DailyRevenue> revenuePerDay(@AuthenticationPrincipal Jwt jwt,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                            @RequestParam(defaultValue = "live") String source) {
+        Days days = days(from, to);
+        if (source.equalsIgnoreCase("rollup")) {
+            if (!properties.rollupEnabled()) {
+                throw new IllegalArgumentException("Daily rollups are disabled");
+            }
+            return analyticsRepository.rollups(days.first().toString(), days.last().toString())
+                    .map(rollup -> new DailyRevenue(rollup.getDay(), rollup.getRevenue(), rollup.getOrders()));
+        }
+        return analyticsRepository.revenuePerDay(days.start(), days.end());
+    }
+
+    @GetMapping("/status-counts")
+    public Flux<StatusCount> countByStatus(@AuthenticationPrincipal Jwt jwt,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                           @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        Days days = days(from, to);
+        return analyticsRepository.countByStatus(days.start(), days.end());
+    }
+
+    @GetMapping("/top-customers")
+    public Flux<CustomerTotal> topCustomers(@AuthenticationPrincipal Jwt jwt,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                            @RequestParam(defaultValue = "10") int limit) {
+        Days days = days(from, to);
+        return analyticsRepository.topCustomers(days.start(), days.end(), topN(limit));
+    }
+
+    @GetMapping("/top-products")
+    public Flux<ProductTotal> topProducts(@AuthenticationPrincipal Jwt jwt,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                          @RequestParam(defaultValue = "10") int limit) {
+        Days days = days(from, to);
+        return analyticsRepository.topProducts(days.start(), days.end(), topN(limit));
+    }
+
+    private int topN(int requested) {
+        return Math.max(1, Math.min(requested, properties.maxTopN()));
+    }
+
+    // Both bounds are optional; by default the range ends today and spans default-days UTC days
+    private Days days(LocalDate from, LocalDate to) {
+        LocalDate last = to != null ? to : LocalDate.now(ZoneOffset.UTC);
+        return new Days(from != null ? from : last.minusDays(properties.defaultDays() - 1L), last);
+    }
+
+    private record Days(LocalDate first, LocalDate last) {
+
+        Instant start() {
+            return first.atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+
+        // Exclusive: the start of the day after the last one
+        Instant end() {
+            return last.plusDays(1).atStartOfDay(ZoneOffset.UTC).toInstant();
+        }
+    }
+}
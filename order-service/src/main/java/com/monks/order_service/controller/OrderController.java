@@ -1,95 +1,204 @@
 package com.monks.order_service.controller;
 
+import com.monks.order_service.config.OrderPagingProperties;
 import com.monks.order_service.model.Order;
+import com.monks.order_service.model.OrderBatchResult;
+import com.monks.order_service.model.OrderOutboxEvent;
+import com.monks.order_service.model.OrderPage;
+import com.monks.order_service.model.OrderPatch;
+import com.monks.order_service.model.OrderStatus;
+import com.monks.order_service.repository.OrderCursor;
+import com.monks.order_service.repository.OrderProjection;
 import com.monks.order_service.repository.OrderRepository;
+import com.monks.order_service.service.OrderBatchService;
+import com.monks.order_service.service.OrderIdempotencyService;
+import com.monks.order_service.service.OrderOutbox;
+import com.monks.order_service.service.OrderRollupService;
+import com.monks.order_service.service.OrderService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuples;
 
 import java.time.Instant;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/api/orders")
 @RequiredArgsConstructor
 public class OrderController {
 
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final OrderRepository orderRepository;
+    private final OrderService orderService;
+    private final OrderBatchService orderBatchService;
+    private final OrderRollupService orderRollupService;
+    private final OrderOutbox orderOutbox;
+    private final OrderIdempotencyService orderIdempotencyService;
+    private final OrderPagingProperties paging;
 
+    // ?view=summary or ?fields=a,b,c trims what is read from Mongo and sent to the client
     @GetMapping
-    public Flux<Order> findAll(@AuthenticationPrincipal Jwt jwt) {
-        return orderRepository.findAll();
+    public Mono<? extends OrderPage<?>> findAll(@AuthenticationPrincipal Jwt jwt,
+                                                @RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) Integer size,
+                                                @RequestParam(required = false) String view,
+                                                @RequestParam(required = false) String fields) {
+        int limit = paging.pageSize(size);
+        OrderCursor after = OrderCursor.decode(cursor);
+        return page(OrderProjection.select(view, fields), limit,
+                projection -> orderRepository.scrollAll(after, limit + 1, projection));
+    }
+
+    // Unpaged NDJSON export for bulk consumers, read lazily from the Mongo cursor as the client drains it
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Order> streamAll(@AuthenticationPrincipal Jwt jwt, @RequestParam(required = false) String cursor) {
+        return orderRepository.scrollAll(OrderCursor.decode(cursor), 0, OrderProjection.FULL);
     }
 
     @GetMapping("/{id}")
-    public Mono<Order> findById(@AuthenticationPrincipal Jwt jwt, @PathVariable String id) {
-        return orderRepository.findById(id);
+    public Mono<ResponseEntity<Order>> findById(@AuthenticationPrincipal Jwt jwt, @PathVariable String id) {
+        // A matching If-None-Match gets an empty 304 from the ResponseEntity handler
+        return orderRepository.findById(id).map(order -> versioned(order.getVersion()).body(order));
     }
 
+    // With an Idempotency-Key, retries of the same request get the first response instead of a second order
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
-    public Mono<Order> create(@AuthenticationPrincipal Jwt jwt, @RequestBody Order order) {
-        // You can add business logic here (calculate total, set status, etc.)
-        if (order.getStatus() == null) {
-            order.setStatus("PENDING");
-        }
-        if (order.getCreatedAt() == null) {
-            order.setCreatedAt(Instant.now());
-        }
-        order.setUpdatedAt(Instant.now());
-
-        // Simple total calculation example (you can make it more robust)
-        if (order.getItems() != null) {
-            double total = order.getItems().stream()
-                    .mapToDouble(item -> item.getQuantity() * item.getUnitPrice())
-                    .sum();
-            order.setTotalAmount(total);
+    public Mono<Order> create(@AuthenticationPrincipal Jwt jwt, @RequestBody Order order,
+                              @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return insert(order, null);
         }
+        return orderIdempotencyService.create(String.valueOf(jwt.getSubject()), idempotencyKey, order,
+                orderId -> insert(order, orderId));
+    }
 
-        return orderRepository.save(order);
+    // Accepts a JSON array or an NDJSON stream; answers with one result per order in input order
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<OrderBatchResult> createBatch(@AuthenticationPrincipal Jwt jwt, @RequestBody Flux<Order> orders) {
+        return orderBatchService.insertAll(orders);
     }
 
+    // Full replace of the editable fields in one findAndModify; If-Match: "<version>" guards against lost updates
     @PutMapping("/{id}")
-    public Mono<Order> update(@AuthenticationPrincipal Jwt jwt, @PathVariable String id, @RequestBody Order order) {
-        return orderRepository.findById(id)
-                .flatMap(existing -> {
-                    // Update allowed fields (protect ID, createdAt, etc.)
-                    existing.setCustomerId(order.getCustomerId());
-                    existing.setCustomerName(order.getCustomerName());
-                    existing.setEmail(order.getEmail());
-                    existing.setItems(order.getItems());
-                    existing.setStatus(order.getStatus());
-                    existing.setUpdatedAt(Instant.now());
-
-                    // Recalculate total if items changed
-                    if (order.getItems() != null) {
-                        double total = order.getItems().stream()
-                                .mapToDouble(item -> item.getQuantity() * item.getUnitPrice())
-                                .sum();
-                        existing.setTotalAmount(total);
-                    }
-
-                    return orderRepository.save(existing);
-                });
+    public Mono<Order> update(@AuthenticationPrincipal Jwt jwt, @PathVariable String id, @RequestBody Order order,
+                              @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Instant now = Instant.now();
+        return write(orderRepository.update(id, expectedVersion(ifMatch), orderService.replaceUpdate(order, now)),
+                previous -> orderService.applyReplace(previous, order, now), OrderOutboxEvent.Type.UPDATED);
+    }
+
+    @PatchMapping("/{id}")
+    public Mono<Order> patch(@AuthenticationPrincipal Jwt jwt, @PathVariable String id, @RequestBody OrderPatch patch,
+                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        Instant now = Instant.now();
+        return write(orderRepository.update(id, expectedVersion(ifMatch), orderService.patchUpdate(patch, now)),
+                previous -> orderService.applyPatch(previous, patch, now), OrderOutboxEvent.Type.UPDATED);
+    }
+
+    // Atomic lifecycle step, e.g. POST /api/orders/{id}/status/SHIPPED; 409 if the current status doesn't allow it
+    @PostMapping("/{id}/status/{status}")
+    public Mono<Order> transition(@AuthenticationPrincipal Jwt jwt, @PathVariable String id,
+                                  @PathVariable String status) {
+        OrderStatus target = OrderStatus.parse(status);
+        Instant now = Instant.now();
+        return write(orderRepository.transition(id, target, now),
+                previous -> orderService.applyTransition(previous, target, now), OrderOutboxEvent.Type.STATUS_CHANGED);
     }
 
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public Mono<Void> delete(@AuthenticationPrincipal Jwt jwt, @PathVariable String id) {
-        return orderRepository.deleteById(id);
+        return orderOutbox.atomically(orderRepository.deleteOrderById(id)
+                        .flatMap(removed -> orderOutbox.append(OrderOutboxEvent.Type.DELETED, removed).thenReturn(removed)))
+                .flatMap(removed -> orderRollupService.record(removed, null));
     }
 
     // Custom queries
     @GetMapping("/customer/{customerId}")
-    public Flux<Order> findByCustomer(@AuthenticationPrincipal Jwt jwt, @PathVariable String customerId) {
-        return orderRepository.findByCustomerId(customerId);
+    public Mono<? extends OrderPage<?>> findByCustomer(@AuthenticationPrincipal Jwt jwt,
+                                                       @PathVariable String customerId,
+                                                       @RequestParam(required = false) String cursor,
+                                                       @RequestParam(required = false) Integer size,
+                                                       @RequestParam(required = false) String view,
+                                                       @RequestParam(required = false) String fields) {
+        int limit = paging.pageSize(size);
+        OrderCursor after = OrderCursor.decode(cursor);
+        return page(OrderProjection.select(view, fields), limit,
+                projection -> orderRepository.scrollByCustomerId(customerId, after, limit + 1, projection));
+    }
+
+    @GetMapping(value = "/customer/{customerId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Order> streamByCustomer(@AuthenticationPrincipal Jwt jwt, @PathVariable String customerId,
+                                        @RequestParam(required = false) String cursor) {
+        return orderRepository.scrollByCustomerId(customerId, OrderCursor.decode(cursor), 0, OrderProjection.FULL);
     }
 
     @GetMapping("/status/{status}")
-    public Flux<Order> findByStatus(@AuthenticationPrincipal Jwt jwt, @PathVariable String status) {
-        return orderRepository.findByStatus(status);
+    public Mono<? extends OrderPage<?>> findByStatus(@AuthenticationPrincipal Jwt jwt, @PathVariable String status,
+                                                     @RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer size,
+                                                     @RequestParam(required = false) String view,
+                                                     @RequestParam(required = false) String fields) {
+        int limit = paging.pageSize(size);
+        OrderCursor after = OrderCursor.decode(cursor);
+        return page(OrderProjection.select(view, fields), limit,
+                projection -> orderRepository.scrollByStatus(status, after, limit + 1, projection));
+    }
+
+    @GetMapping(value = "/status/{status}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Order> streamByStatus(@AuthenticationPrincipal Jwt jwt, @PathVariable String status,
+                                      @RequestParam(required = false) String cursor) {
+        return orderRepository.scrollByStatus(status, OrderCursor.decode(cursor), 0, OrderProjection.FULL);
+    }
+
+    private Mono<Order> insert(Order order, String id) {
+        // Deferred so a retried transaction prepares the order again; a failed save has set its version
+        return orderOutbox.atomically(Mono.defer(() -> orderRepository.save(orderService.prepareNew(order, id)))
+                        .flatMap(saved -> orderOutbox.append(OrderOutboxEvent.Type.CREATED, saved).thenReturn(saved)))
+                .flatMap(saved -> orderRollupService.record(null, saved).thenReturn(saved));
+    }
+
+    // The update and its outbox event commit together; the best-effort rollup runs after the commit
+    private Mono<Order> write(Mono<Order> update, Function<Order, Order> apply, OrderOutboxEvent.Type type) {
+        return orderOutbox.atomically(update.flatMap(previous -> {
+                    Order before = orderRollupService.snapshot(previous);
+                    Order updated = apply.apply(previous);
+                    return orderOutbox.append(type, updated).thenReturn(Tuples.of(before, updated));
+                }))
+                .flatMap(change -> orderRollupService.record(change.getT1(), change.getT2()).thenReturn(change.getT2()));
+    }
+
+    // ETag from the order version, the same value If-Match takes; private, no-cache keeps shared caches out
+    private static ResponseEntity.BodyBuilder versioned(Long version) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate());
+        return version == null ? builder : builder.eTag(String.valueOf(version));
+    }
+
+    private static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.startsWith("W/") ? ifMatch.substring(2) : ifMatch;
+        try {
+            return Long.parseLong(tag.replace("\"", "").trim());
+        } catch (NumberFormatException ex) {
+            throw new IllegalArgumentException("If-Match must carry an order version: " + ifMatch);
+        }
+    }
+
+    private <T> Mono<OrderPage<T>> page(OrderProjection<T> projection, int limit,
+                                        Function<OrderProjection<T>, Flux<T>> query) {
+        return OrderPage.of(query.apply(projection), limit, projection);
     }
 }
@@ -0,0 +1,52 @@
+package com.monks.order_service.controller;
+
+import com.monks.order_service.config.OrderEventProperties;
+import com.monks.order_service.model.OrderEvent;
+import com.monks.order_service.model.OrderStatus;
+import com.monks.order_service.service.OrderEventHub;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/orders/events")
+@RequiredArgsConstructor
+public class OrderEventController {
+
+    private final OrderEventHub orderEventHub;
+    private final OrderEventProperties properties;
+
+    // Push alternative to polling /customer/{id} and /status/{status}; ?overflow=drop|latest for slow readers
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<OrderEvent>> events(@RequestParam(required = false) String customerId,
+                                                    @RequestParam(required = false) String status,
+                                                    @RequestParam(required = false) String overflow) {
+        if (!orderEventHub.isRunning()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Order events are off: enable orders.events and run Mongo as a replica set");
+        }
+        String statusFilter = status == null ? null : OrderStatus.parse(status).name();
+        OrderEventProperties.Overflow policy = overflow == null ? properties.overflow()
+                : OrderEventProperties.Overflow.parse(overflow);
+        Flux<ServerSentEvent<OrderEvent>> events = orderEventHub
+                .subscribe(customerId, statusFilter, policy)
+                .map(event -> ServerSentEvent.builder(event)
+                        .event(event.type())
+                        .id(event.orderId() + (event.version() != null ? ":" + event.version() : ""))
+                        .build());
+        // The first heartbeat goes out at once so the response is committed before any order changes
+        Flux<ServerSentEvent<OrderEvent>> heartbeats = Flux.interval(Duration.ZERO, properties.heartbeat())
+                .onBackpressureDrop()
+                .map(tick -> ServerSentEvent.<OrderEvent>builder().comment("keep-alive").build());
+        return Flux.merge(events, heartbeats);
+    }
+}
@@ -0,0 +1,6 @@
+package com.monks.order_service.model;
+
+import java.math.BigDecimal;
+
+public record CustomerTotal(String customerId, String customerName, BigDecimal revenue, long orders) {
+}
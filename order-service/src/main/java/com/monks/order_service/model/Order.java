@@ -1,30 +1,51 @@
 package com.monks.order_service.model;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 import java.util.List;
 
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL) // fields= projections leave unselected fields null
 @Document(collection = "orders")
+// Back the (createdAt desc, id desc) keyset pagination used by the list endpoints
+@CompoundIndexes({
+        @CompoundIndex(name = "createdAt_id", def = "{'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "customerId_createdAt_id", def = "{'customerId': 1, 'createdAt': -1, '_id': -1}"),
+        @CompoundIndex(name = "status_createdAt_id", def = "{'status': 1, 'createdAt': -1, '_id': -1}"),
+        // Covers the revenue and status-count pipelines; top customers and products still fetch the matched
+        // orders, for customerName and the items
+        @CompoundIndex(name = "createdAt_status_totalAmount", def = "{'createdAt': 1, 'status': 1, 'totalAmount': 1}")
+})
 public class Order {
 
     @Id
     private String id;
 
+    @Version
+    private Long version; // bumped by every update; sent back as the ETag for If-Match
+
     private String customerId;
     private String customerName;
     private String email;
     private List<OrderItem> items;
-    private Double totalAmount;
+    @Field(targetType = FieldType.DECIMAL128) // exact money, see OrderPricingService
+    private BigDecimal totalAmount;
     private String status;// e.g. "PENDING", "CONFIRMED", "SHIPPED", "DELIVERED", "CANCELLED"
-    private Instant createdAt = Instant.now();
-    private Instant updatedAt = Instant.now();
+    private Instant createdAt; // stamped by OrderController on create
+    private Instant updatedAt;
 
     @Data
     @NoArgsConstructor
@@ -32,8 +53,10 @@ public class Order {
     public static class OrderItem {
         private String productId;
         private String productName;
-        private Integer quantity;
-        private Double unitPrice;
-        private Double subtotal;
+        private int quantity;
+        @Field(targetType = FieldType.DECIMAL128)
+        private BigDecimal unitPrice;
+        @Field(targetType = FieldType.DECIMAL128)
+        private BigDecimal subtotal; // unitPrice * quantity, filled in by OrderPricingService
     }
 }
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.monks.order_service.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OrderBatchResult(long index, String id, String status, String error) {
+
+    public static OrderBatchResult created(long index, String id) {
+        return new OrderBatchResult(index, id, "CREATED", null);
+    }
+
+    public static OrderBatchResult failed(long index, String id, String error) {
+        return new OrderBatchResult(index, id, "FAILED", error);
+    }
+}
@@ -0,0 +1,26 @@
+package com.monks.order_service.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+// Pre-aggregated per UTC day; maintained with $inc as orders are written
+@Data
+@NoArgsConstructor
+@Document(collection = "order_daily_rollups")
+public class OrderDailyRollup {
+
+    @Id
+    private String day; // yyyy-MM-dd
+
+    @Field(targetType = FieldType.DECIMAL128)
+    private BigDecimal revenue; // excludes CANCELLED orders
+    private long orders;
+    private Map<String, Long> byStatus;
+}
@@ -0,0 +1,12 @@
+package com.monks.order_service.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// One write to the orders collection; deletes only carry the orderId
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record OrderEvent(String type, String orderId, String customerId, String status, BigDecimal totalAmount,
+                         Long version, Instant updatedAt) {
+}
@@ -0,0 +1,35 @@
+package com.monks.order_service.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// First request made with an Idempotency-Key; claimed before the order is inserted, completed with the response
+@Data
+@NoArgsConstructor
+@Document(collection = "order_idempotency_keys")
+public class OrderIdempotencyRecord {
+
+    @Id
+    private String id; // hash of caller and key
+    private String fingerprint; // hash of the request body, a reused key must come with the same body
+    private String orderId; // assigned at claim time so a takeover inserts the same order
+    private boolean completed;
+    private Order response;
+    private Instant claimedAt;
+    @Indexed(expireAfter = "0s")
+    private Instant expiresAt;
+
+    public OrderIdempotencyRecord(String id, String fingerprint, String orderId, Instant claimedAt,
+                                  Instant expiresAt) {
+        this.id = id;
+        this.fingerprint = fingerprint;
+        this.orderId = orderId;
+        this.claimedAt = claimedAt;
+        this.expiresAt = expiresAt;
+    }
+}
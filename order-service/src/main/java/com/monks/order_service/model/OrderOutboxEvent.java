@@ -0,0 +1,35 @@
+package com.monks.order_service.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+// Pending lifecycle event, written in the same transaction as the order change and removed once published
+@Data
+@NoArgsConstructor
+@Document(collection = "order_outbox")
+public class OrderOutboxEvent {
+
+    public enum Type { CREATED, UPDATED, STATUS_CHANGED, DELETED }
+
+    @Id
+    private String id;
+    private String orderId;
+    private Type type;
+    private long sequence; // the order's version after this change; orders events of one order
+    @Indexed
+    private Instant createdAt;
+    private Order order; // state after the change; the deleted state for DELETED
+
+    public OrderOutboxEvent(Type type, Order order, long sequence, Instant createdAt) {
+        this.orderId = order.getId();
+        this.type = type;
+        this.sequence = sequence;
+        this.createdAt = createdAt;
+        this.order = order;
+    }
+}
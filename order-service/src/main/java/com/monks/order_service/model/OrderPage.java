@@ -0,0 +1,30 @@
+package com.monks.order_service.model;
+
+import com.monks.order_service.repository.OrderCursor;
+import com.monks.order_service.repository.OrderProjection;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record OrderPage<T>(List<T> items, String nextCursor) {
+
+    /**
+     * Collects a page from {@code rows}, which must have been queried with {@code limit + 1}
+     * so the extra row tells us whether another page exists.
+     */
+    public static <T> Mono<OrderPage<T>> of(Flux<T> rows, int limit, Function<T, OrderCursor> cursorOf) {
+        return rows.collectList().map(list -> {
+            if (list.size() <= limit) {
+                return new OrderPage<>(list, null);
+            }
+            List<T> items = list.subList(0, limit);
+            return new OrderPage<>(items, cursorOf.apply(items.get(limit - 1)).encode());
+        });
+    }
+
+    public static <T> Mono<OrderPage<T>> of(Flux<T> rows, int limit, OrderProjection<T> projection) {
+        return of(rows, limit, projection.cursorOf());
+    }
+}
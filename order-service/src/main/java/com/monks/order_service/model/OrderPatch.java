@@ -0,0 +1,7 @@
+package com.monks.order_service.model;
+
+import java.util.List;
+
+// Body of PATCH /api/orders/{id}: only non-null fields change. Status moves through the transition endpoint.
+public record OrderPatch(String customerId, String customerName, String email, List<Order.OrderItem> items) {
+}
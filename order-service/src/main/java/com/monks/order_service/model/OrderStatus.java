@@ -0,0 +1,32 @@
+package com.monks.order_service.model;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+// Order lifecycle: PENDING -> CONFIRMED -> SHIPPED -> DELIVERED, cancellable until shipped
+public enum OrderStatus {
+    PENDING,
+    CONFIRMED,
+    SHIPPED,
+    DELIVERED,
+    CANCELLED;
+
+    // Statuses an order may be in for a transition to this one to be allowed
+    public Set<OrderStatus> predecessors() {
+        return switch (this) {
+            case PENDING -> EnumSet.noneOf(OrderStatus.class);
+            case CONFIRMED -> EnumSet.of(PENDING);
+            case SHIPPED -> EnumSet.of(CONFIRMED);
+            case DELIVERED -> EnumSet.of(SHIPPED);
+            case CANCELLED -> EnumSet.of(PENDING, CONFIRMED);
+        };
+    }
+
+    public static OrderStatus parse(String value) {
+        try {
+            return OrderStatus.valueOf(value.toUpperCase());
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Unknown order status: " + value);
+        }
+    }
+}
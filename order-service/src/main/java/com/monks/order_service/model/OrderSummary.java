@@ -0,0 +1,9 @@
+package com.monks.order_service.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+// Lightweight read model for list views: no items, no contact details
+public record OrderSummary(String id, String customerId, String customerName, String status,
+                           BigDecimal totalAmount, Instant createdAt) {
+}
@@ -0,0 +1,6 @@
+package com.monks.order_service.model;
+
+import java.math.BigDecimal;
+
+public record ProductTotal(String productId, String productName, long quantity, BigDecimal revenue) {
+}
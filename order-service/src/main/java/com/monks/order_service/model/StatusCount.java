@@ -0,0 +1,4 @@
+package com.monks.order_service.model;
+
+public record StatusCount(String status, long count) {
+}
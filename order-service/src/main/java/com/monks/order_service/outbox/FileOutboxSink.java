@@ -0,0 +1,55 @@
+package com.monks.order_service.outbox;
+
+import com.monks.order_service.model.OrderOutboxEvent;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Appends events as NDJSON and fsyncs before reporting them published
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path file;
+    private final JsonMapper jsonMapper;
+
+    public FileOutboxSink(Path file, JsonMapper jsonMapper) {
+        this.file = file;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public Mono<Void> publish(List<OrderOutboxEvent> events) {
+        return Mono.<Void>fromRunnable(() -> append(events)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private synchronized void append(List<OrderOutboxEvent> events) {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        for (OrderOutboxEvent event : events) {
+            lines.writeBytes(jsonMapper.writeValueAsBytes(event));
+            lines.write('\n');
+        }
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (SeekableByteChannel channel = Files.newByteChannel(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.APPEND, StandardOpenOption.DSYNC)) {
+                ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not append outbox events to " + file, ex);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.monks.order_service.outbox;
+
+import com.monks.order_service.model.OrderOutboxEvent;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+// Keeps the most recent events in memory; for tests and local runs without a broker
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final int capacity;
+    private final Deque<OrderOutboxEvent> events = new ArrayDeque<>();
+
+    public InMemoryOutboxSink(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public Mono<Void> publish(List<OrderOutboxEvent> batch) {
+        return Mono.fromRunnable(() -> {
+            synchronized (events) {
+                for (OrderOutboxEvent event : batch) {
+                    if (events.size() == capacity) {
+                        events.removeFirst();
+                    }
+                    events.addLast(event);
+                }
+            }
+        });
+    }
+
+    public List<OrderOutboxEvent> events() {
+        synchronized (events) {
+            return List.copyOf(events);
+        }
+    }
+}
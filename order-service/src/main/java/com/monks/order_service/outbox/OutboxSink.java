@@ -0,0 +1,19 @@
+package com.monks.order_service.outbox;
+
+import com.monks.order_service.model.OrderOutboxEvent;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Destination of the order outbox relay. Delivery is at least once: after a failure or a crash the
+ * same events are published again, so consumers should skip sequences they have already seen.
+ */
+public interface OutboxSink {
+
+    /**
+     * Publishes events of a single order, oldest first. They must be delivered in this order and the
+     * returned Mono may only complete once all of them are durable at the destination.
+     */
+    Mono<Void> publish(List<OrderOutboxEvent> events);
+}
@@ -0,0 +1,98 @@
+package com.monks.order_service.repository;
+
+import com.monks.order_service.model.CustomerTotal;
+import com.monks.order_service.model.DailyRevenue;
+import com.monks.order_service.model.Order;
+import com.monks.order_service.model.OrderDailyRollup;
+import com.monks.order_service.model.ProductTotal;
+import com.monks.order_service.model.StatusCount;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.group;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.limit;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.match;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.newAggregation;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.project;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.sort;
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.unwind;
+
+/**
+ * Analytics computed inside Mongo so only the aggregated rows cross the wire. Every pipeline starts
+ * with a createdAt range match served by the indexes declared on {@link Order}.
+ */
+@Repository
+@RequiredArgsConstructor
+public class OrderAnalyticsRepository {
+
+    public static final String CANCELLED = "CANCELLED";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public Flux<DailyRevenue> revenuePerDay(Instant from, Instant to) {
+        TypedAggregation<Order> aggregation = newAggregation(Order.class,
+                match(inRange(from, to).and("status").ne(CANCELLED)),
+                project("totalAmount")
+                        .and(DateOperators.DateToString.dateOf("createdAt").toString("%Y-%m-%d")).as("day"),
+                group("day").sum("totalAmount").as("revenue").count().as("orders"),
+                project("revenue", "orders").and("day").previousOperation(),
+                sort(Sort.Direction.ASC, "day"));
+        return mongoTemplate.aggregate(aggregation, DailyRevenue.class);
+    }
+
+    public Flux<StatusCount> countByStatus(Instant from, Instant to) {
+        TypedAggregation<Order> aggregation = newAggregation(Order.class,
+                match(inRange(from, to)),
+                group("status").count().as("count"),
+                project("count").and("status").previousOperation(),
+                sort(Sort.Direction.DESC, "count"));
+        return mongoTemplate.aggregate(aggregation, StatusCount.class);
+    }
+
+    public Flux<CustomerTotal> topCustomers(Instant from, Instant to, int n) {
+        TypedAggregation<Order> aggregation = newAggregation(Order.class,
+                match(inRange(from, to).and("status").ne(CANCELLED)),
+                group("customerId").first("customerName").as("customerName")
+                        .sum("totalAmount").as("revenue")
+                        .count().as("orders"),
+                sort(Sort.Direction.DESC, "revenue"),
+                limit(n),
+                project("customerName", "revenue", "orders").and("customerId").previousOperation());
+        return mongoTemplate.aggregate(aggregation, CustomerTotal.class);
+    }
+
+    public Flux<ProductTotal> topProducts(Instant from, Instant to, int n) {
+        TypedAggregation<Order> aggregation = newAggregation(Order.class,
+                match(inRange(from, to).and("status").ne(CANCELLED)),
+                unwind("items"),
+                group("items.productId").first("items.productName").as("productName")
+                        .sum("items.quantity").as("quantity")
+                        .sum(ArithmeticOperators.Multiply.valueOf("items.quantity").multiplyBy("items.unitPrice"))
+                        .as("revenue"),
+                sort(Sort.Direction.DESC, "quantity"),
+                limit(n),
+                project("productName", "quantity", "revenue").and("productId").previousOperation());
+        return mongoTemplate.aggregate(aggregation, ProductTotal.class);
+    }
+
+    public Flux<OrderDailyRollup> rollups(String fromDay, String toDay) {
+        Query query = new Query(Criteria.where("day").gte(fromDay).lte(toDay))
+                .with(Sort.by(Sort.Direction.ASC, "day"));
+        return mongoTemplate.find(query, OrderDailyRollup.class);
+    }
+
+    private static Criteria inRange(Instant from, Instant to) {
+        return Criteria.where("createdAt").gte(from).lt(to);
+    }
+}
@@ -0,0 +1,48 @@
+package com.monks.order_service.repository;
+
+import com.monks.order_service.model.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Keyset position in the (createdAt desc, id desc) ordering of orders.
+ * Serialized as an opaque base64url token so clients never depend on its layout.
+ */
+public record OrderCursor(Instant createdAt, String id) {
+
+    public static final Sort SORT = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
+    public static OrderCursor of(Order order) {
+        return new OrderCursor(order.getCreatedAt(), order.getId());
+    }
+
+    public static OrderCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return new OrderCursor(Instant.ofEpochMilli(Long.parseLong(raw.substring(0, separator))),
+                    raw.substring(separator + 1));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, ex);
+        }
+    }
+
+    public String encode() {
+        String raw = createdAt.toEpochMilli() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Everything strictly after this position in SORT order
+    public Criteria toCriteria() {
+        return new Criteria().orOperator(
+                Criteria.where("createdAt").lt(createdAt),
+                Criteria.where("createdAt").is(createdAt).and("id").lt(id));
+    }
+}
@@ -0,0 +1,54 @@
+package com.monks.order_service.repository;
+
+import com.monks.order_service.model.Order;
+import com.monks.order_service.model.OrderSummary;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Shape of the documents read by a list query. {@code fields} is the Mongo field projection;
+ * an empty set reads whole documents.
+ */
+public record OrderProjection<T>(Class<T> type, Set<String> fields, Function<T, OrderCursor> cursorOf) {
+
+    public static final OrderProjection<Order> FULL = new OrderProjection<>(Order.class, Set.of(), OrderCursor::of);
+
+    public static final OrderProjection<OrderSummary> SUMMARY = new OrderProjection<>(OrderSummary.class,
+            Set.of("id", "customerId", "customerName", "status", "totalAmount", "createdAt"),
+            summary -> new OrderCursor(summary.createdAt(), summary.id()));
+
+    private static final Set<String> SELECTABLE = Set.of("id", "customerId", "customerName", "email", "items",
+            "totalAmount", "status", "createdAt", "updatedAt");
+
+    /**
+     * Resolves the {@code view} / {@code fields} request parameters. An explicit field list wins over the view;
+     * id and createdAt are always read because the page cursor needs them.
+     */
+    public static OrderProjection<?> select(String view, String fields) {
+        if (fields != null && !fields.isBlank()) {
+            Set<String> selected = Arrays.stream(fields.split(","))
+                    .map(String::trim)
+                    .filter(field -> !field.isEmpty())
+                    .collect(Collectors.toCollection(LinkedHashSet::new));
+            for (String field : selected) {
+                if (!SELECTABLE.contains(field)) {
+                    throw new IllegalArgumentException("Unknown order field: " + field);
+                }
+            }
+            selected.add("id");
+            selected.add("createdAt");
+            return new OrderProjection<>(Order.class, Set.copyOf(selected), OrderCursor::of);
+        }
+        if (view == null || view.equalsIgnoreCase("full")) {
+            return FULL;
+        }
+        if (view.equalsIgnoreCase("summary")) {
+            return SUMMARY;
+        }
+        throw new IllegalArgumentException("Unknown order view: " + view);
+    }
+}
@@ -2,18 +2,49 @@ package com.monks.order_service.repository;
 
 
 import com.monks.order_service.model.Order;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
 import java.time.Instant;
 
-public interface OrderRepository extends ReactiveMongoRepository<Order, String> {
+public interface OrderRepository extends ReactiveMongoRepository<Order, String>, OrderScrollRepository,
+        OrderUpdateRepository {
 
     Flux<Order> findByCustomerId(String customerId);
 
     Flux<Order> findByStatus(String status);
 
-    Flux<Order> findByTotalAmountBetween(Double min, Double max);
+    Flux<Order> findByTotalAmountBetween(BigDecimal min, BigDecimal max);
 
     Flux<Order> findByCreatedAtAfter(Instant date);
+
+    // findAndRemove: deletes and hands back the removed document in one round-trip
+    Mono<Order> deleteOrderById(String id);
+
+    // Cursor-paginated variants, newest first
+    default <T> Flux<T> scrollAll(OrderCursor after, int limit, OrderProjection<T> projection) {
+        return scroll(null, after, limit, projection);
+    }
+
+    default <T> Flux<T> scrollByCustomerId(String customerId, OrderCursor after, int limit,
+                                           OrderProjection<T> projection) {
+        return scroll(Criteria.where("customerId").is(customerId), after, limit, projection);
+    }
+
+    default <T> Flux<T> scrollByStatus(String status, OrderCursor after, int limit, OrderProjection<T> projection) {
+        return scroll(Criteria.where("status").is(status), after, limit, projection);
+    }
+
+    default <T> Flux<T> scrollByTotalAmountBetween(BigDecimal min, BigDecimal max, OrderCursor after, int limit,
+                                                   OrderProjection<T> projection) {
+        return scroll(Criteria.where("totalAmount").gt(min).lt(max), after, limit, projection);
+    }
+
+    default <T> Flux<T> scrollByCreatedAtAfter(Instant date, OrderCursor after, int limit,
+                                               OrderProjection<T> projection) {
+        return scroll(Criteria.where("createdAt").gt(date), after, limit, projection);
+    }
 }
\ No newline at end of file
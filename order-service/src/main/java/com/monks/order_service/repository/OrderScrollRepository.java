@@ -0,0 +1,13 @@
+package com.monks.order_service.repository;
+
+import org.springframework.data.mongodb.core.query.Criteria;
+import reactor.core.publisher.Flux;
+
+public interface OrderScrollRepository {
+
+    /**
+     * Reads orders matching {@code filter} in {@link OrderCursor#SORT} order, starting after {@code after},
+     * shaped by {@code projection}. A {@code limit} of 0 streams every remaining match.
+     */
+    <T> Flux<T> scroll(Criteria filter, OrderCursor after, int limit, OrderProjection<T> projection);
+}
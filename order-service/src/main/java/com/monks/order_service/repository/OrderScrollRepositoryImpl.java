@@ -0,0 +1,39 @@
+package com.monks.order_service.repository;
+
+import com.monks.mongo.MongoClientProperties;
+import com.monks.order_service.config.OrderPagingProperties;
+import com.monks.order_service.model.Order;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+
+@RequiredArgsConstructor
+public class OrderScrollRepositoryImpl implements OrderScrollRepository {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final OrderPagingProperties paging;
+    private final MongoClientProperties mongo;
+
+    @Override
+    public <T> Flux<T> scroll(Criteria filter, OrderCursor after, int limit, OrderProjection<T> projection) {
+        Query query = new Query()
+                .with(OrderCursor.SORT)
+                .limit(limit)
+                .cursorBatchSize(limit > 0 ? Math.min(limit, paging.streamBatchSize()) : paging.streamBatchSize())
+                .withReadPreference(mongo.listReadPreference()); // may trail the primary by the replication lag
+        if (filter != null) {
+            query.addCriteria(filter);
+        }
+        if (after != null) {
+            query.addCriteria(after.toCriteria());
+        }
+        // Only the projected fields cross the wire and get decoded
+        projection.fields().forEach(query.fields()::include);
+        return mongoTemplate.query(Order.class)
+                .as(projection.type())
+                .matching(query)
+                .all();
+    }
+}
@@ -0,0 +1,21 @@
+package com.monks.order_service.repository;
+
+import com.monks.order_service.model.Order;
+import com.monks.order_service.model.OrderStatus;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Single round-trip updates. Both methods return the document as it was before the update and
+ * bump {@code version}; they fail with {@link org.springframework.dao.OptimisticLockingFailureException}
+ * when the order exists but did not match, and complete empty when it does not exist.
+ */
+public interface OrderUpdateRepository {
+
+    // expectedVersion == null updates whatever version is stored
+    Mono<Order> update(String id, Long expectedVersion, Update update);
+
+    Mono<Order> transition(String id, OrderStatus target, Instant now);
+}
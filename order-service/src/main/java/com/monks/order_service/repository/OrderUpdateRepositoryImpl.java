@@ -0,0 +1,52 @@
+package com.monks.order_service.repository;
+
+import com.monks.order_service.model.Order;
+import com.monks.order_service.model.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.function.Supplier;
+
+@RequiredArgsConstructor
+public class OrderUpdateRepositoryImpl implements OrderUpdateRepository {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    @Override
+    public Mono<Order> update(String id, Long expectedVersion, Update update) {
+        Criteria criteria = Criteria.where("id").is(id);
+        if (expectedVersion != null) {
+            criteria.and("version").is(expectedVersion);
+        }
+        return findAndModify(id, criteria, update.inc("version", 1),
+                () -> "Order " + id + " is no longer at version " + expectedVersion);
+    }
+
+    @Override
+    public Mono<Order> transition(String id, OrderStatus target, Instant now) {
+        Criteria criteria = Criteria.where("id").is(id)
+                .and("status").in(target.predecessors().stream().map(Enum::name).toList());
+        Update update = new Update()
+                .set("status", target.name())
+                .set("updatedAt", now)
+                .inc("version", 1);
+        return findAndModify(id, criteria, update, () -> "Order " + id + " cannot move to " + target);
+    }
+
+    // On no match, one extra existence check tells a conflict apart from a missing order
+    private Mono<Order> findAndModify(String id, Criteria criteria, Update update, Supplier<String> conflict) {
+        return mongoTemplate.findAndModify(new Query(criteria), update, FindAndModifyOptions.options().returnNew(false),
+                        Order.class)
+                .switchIfEmpty(Mono.defer(() -> mongoTemplate.exists(new Query(Criteria.where("id").is(id)), Order.class)
+                        .flatMap(exists -> exists
+                                ? Mono.error(new OptimisticLockingFailureException(conflict.get()))
+                                : Mono.empty())));
+    }
+}
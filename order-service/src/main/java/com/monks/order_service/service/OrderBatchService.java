@@ -0,0 +1,107 @@
+package com.monks.order_service.service;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.monks.order_service.config.OrderBatchProperties;
+import com.monks.order_service.model.Order;
+import com.monks.order_service.model.OrderBatchResult;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+public class OrderBatchService {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final OrderService orderService;
+    private final OrderBatchProperties batch;
+    private final OrderRollupService orderRollupService;
+
+    /**
+     * Inserts {@code orders} in unordered bulk writes of {@code chunk-size} documents, with at most
+     * {@code max-in-flight-chunks} writes outstanding. Emits one result per input order, in input order.
+     */
+    public Flux<OrderBatchResult> insertAll(Flux<Order> orders) {
+        return orders
+                .index()
+                .buffer(batch.chunkSize())
+                .flatMapSequential(this::insertChunk, batch.maxInFlightChunks());
+    }
+
+    private Flux<OrderBatchResult> insertChunk(List<Tuple2<Long, Order>> chunk) {
+        List<OrderBatchResult> rejected = new ArrayList<>();
+        List<Tuple2<Long, Order>> accepted = new ArrayList<>(chunk.size());
+        for (Tuple2<Long, Order> indexed : chunk) {
+            try {
+                // Assign ids up front so each result can report one without reading it back
+                Order order = orderService.prepareNew(indexed.getT2(), new ObjectId().toHexString());
+                order.setVersion(0L); // what save() starts a new document at; bulk inserts don't set it
+                accepted.add(indexed);
+            } catch (RuntimeException ex) {
+                rejected.add(OrderBatchResult.failed(indexed.getT1(), null, "Invalid order: " + ex.getMessage()));
+            }
+        }
+        if (accepted.isEmpty()) {
+            return Flux.fromIterable(rejected);
+        }
+
+        List<Order> documents = accepted.stream().map(Tuple2::getT2).toList();
+        return mongoTemplate.bulkOps(BulkMode.UNORDERED, Order.class)
+                .insert(documents)
+                .execute()
+                .map(result -> Map.<Integer, String>of())
+                .onErrorResume(this::isBulkWriteFailure, ex -> Mono.just(writeErrors(ex)))
+                .flatMap(errors -> orderRollupService.recordInserts(inserted(accepted, errors)).thenReturn(errors))
+                .flatMapMany(errors -> {
+                    List<OrderBatchResult> results = new ArrayList<>(chunk.size());
+                    results.addAll(rejected);
+                    for (int i = 0; i < accepted.size(); i++) {
+                        long index = accepted.get(i).getT1();
+                        String id = accepted.get(i).getT2().getId();
+                        String error = errors.get(i);
+                        results.add(error == null ? OrderBatchResult.created(index, id)
+                                : OrderBatchResult.failed(index, id, error));
+                    }
+                    results.sort((a, b) -> Long.compare(a.index(), b.index()));
+                    return Flux.fromIterable(results);
+                });
+    }
+
+    private static List<Order> inserted(List<Tuple2<Long, Order>> accepted, Map<Integer, String> errors) {
+        List<Order> inserted = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            if (!errors.containsKey(i)) {
+                inserted.add(accepted.get(i).getT2());
+            }
+        }
+        return inserted;
+    }
+
+    private boolean isBulkWriteFailure(Throwable ex) {
+        return ex instanceof BulkOperationException || ex instanceof MongoBulkWriteException;
+    }
+
+    // Position within the bulk write -> error message
+    private Map<Integer, String> writeErrors(Throwable ex) {
+        List<BulkWriteError> errors = ex instanceof BulkOperationException bulk
+                ? bulk.getErrors()
+                : ((MongoBulkWriteException) ex).getWriteErrors();
+        Map<Integer, String> byIndex = new HashMap<>();
+        for (BulkWriteError error : errors) {
+            byIndex.put(error.getIndex(), error.getMessage());
+        }
+        return byIndex;
+    }
+}
@@ -0,0 +1,138 @@
+package com.monks.order_service.service;
+
+import com.monks.mongo.MongoErrors;
+import com.monks.order_service.config.OrderEventProperties;
+import com.monks.order_service.model.Order;
+import com.monks.order_service.model.OrderEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Tails the orders collection once per instance and fans the writes out to every subscriber of
+ * /api/orders/events. Each subscriber reads through its own bounded buffer, so a slow client loses
+ * events under its overflow policy instead of holding back the stream for everyone else.
+ * After a failure the stream resumes after the last event it saw, so the gap is replayed. Change streams
+ * need a replica set; against a standalone server the hub logs once and stays idle.
+ */
+@Slf4j
+@Component
+public class OrderEventHub implements SmartLifecycle {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final OrderEventProperties properties;
+    private final Sinks.Many<OrderEvent> sink = Sinks.many().multicast().directBestEffort();
+    private final Counter dropped;
+    private volatile Disposable subscription;
+    private volatile BsonValue resumeToken;
+
+    public OrderEventHub(ReactiveMongoTemplate mongoTemplate, OrderEventProperties properties,
+                         MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+        this.dropped = Counter.builder("orders.events.dropped")
+                .description("Order events discarded because a subscriber's buffer was full")
+                .register(meterRegistry);
+        Gauge.builder("orders.events.subscribers", sink, Sinks.Many::currentSubscriberCount)
+                .description("Open order event streams")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Live order events, optionally only those of one customer or one status. Deletes carry no
+     * customer or status and so only reach unfiltered subscribers.
+     */
+    public Flux<OrderEvent> subscribe(String customerId, String status, OrderEventProperties.Overflow overflow) {
+        BufferOverflowStrategy strategy = overflow == OrderEventProperties.Overflow.DROP
+                ? BufferOverflowStrategy.DROP_LATEST : BufferOverflowStrategy.DROP_OLDEST;
+        return sink.asFlux()
+                .filter(event -> customerId == null || customerId.equals(event.customerId()))
+                .filter(event -> status == null || status.equals(event.status()))
+                .onBackpressureBuffer(properties.bufferSize(), event -> dropped.increment(), strategy);
+    }
+
+    @Override
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        String collection = mongoTemplate.getCollectionName(Order.class);
+        subscription = Flux.defer(() -> mongoTemplate.changeStream(collection, options(), Order.class))
+                .doOnNext(change -> resumeToken = change.getResumeToken())
+                .doOnError(ex -> MongoErrors.hasCode(ex, MongoErrors.CHANGE_STREAM_HISTORY_LOST), ex -> {
+                    log.warn("Order change stream fell behind the oplog, events written meanwhile are lost");
+                    resumeToken = null;
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofMinutes(1))
+                        .filter(ex -> !MongoErrors.hasCode(ex, MongoErrors.NOT_A_REPLICA_SET))
+                        .doBeforeRetry(retry -> log.warn("Order change stream failed, resuming: {}",
+                                retry.failure().getMessage())))
+                .subscribe(this::publish, ex -> log.warn("Order change stream stopped, event streams stay idle: {}",
+                        ex.getMessage()));
+    }
+
+    private ChangeStreamOptions options() {
+        ChangeStreamOptions.ChangeStreamOptionsBuilder options = ChangeStreamOptions.builder()
+                .returnFullDocumentOnUpdate();
+        BsonValue token = resumeToken;
+        return (token == null ? options : options.resumeAfter(token)).build();
+    }
+
+    private void publish(ChangeStreamEvent<Order> change) {
+        if (change.getOperationType() == null) {
+            return;
+        }
+        String type = change.getOperationType().getValue().toLowerCase(Locale.ROOT);
+        Order order = change.getBody();
+        OrderEvent event = order != null
+                ? new OrderEvent(type, order.getId(), order.getCustomerId(), order.getStatus(),
+                order.getTotalAmount(), order.getVersion(), order.getUpdatedAt())
+                : new OrderEvent(type, documentId(change), null, null, null, null, null);
+        if (event.orderId() != null) {
+            sink.tryEmitNext(event); // no subscribers is not an error
+        }
+    }
+
+    private static String documentId(ChangeStreamEvent<Order> change) {
+        BsonDocument key = change.getRaw() == null ? null : change.getRaw().getDocumentKey();
+        BsonValue id = key == null ? null : key.get("_id");
+        if (id != null && id.isObjectId()) {
+            return id.asObjectId().getValue().toHexString();
+        }
+        return id != null && id.isString() ? id.asString().getValue() : null;
+    }
+
+    @Override
+    public void stop() {
+        Disposable running = subscription;
+        if (running != null) {
+            running.dispose();
+            subscription = null;
+        }
+    }
+
+    /**
+     * False while the hub is disabled, and once the change stream has given up (e.g. no replica set).
+     */
+    @Override
+    public boolean isRunning() {
+        Disposable running = subscription;
+        return running != null && !running.isDisposed();
+    }
+}
@@ -0,0 +1,169 @@
+package com.monks.order_service.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.monks.order_service.config.OrderIdempotencyProperties;
+import com.monks.order_service.model.Order;
+import com.monks.order_service.model.OrderIdempotencyRecord;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.bson.types.ObjectId;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Makes order creation safe to retry with an {@code Idempotency-Key}. The first request claims the key
+ * in {@code order_idempotency_keys} before inserting and stores its response afterwards; repeats get
+ * that response back without a second insert. Duplicates arriving while the first request runs share
+ * its result on the same instance and poll for it across instances. Completed keys are also kept in
+ * process, so most replays never reach Mongo.
+ */
+@Service
+public class OrderIdempotencyService {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final OrderIdempotencyProperties properties;
+    private final JsonMapper jsonMapper;
+    private final Cache<String, OrderIdempotencyRecord> completed;
+    private final ConcurrentMap<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public OrderIdempotencyService(ReactiveMongoTemplate mongoTemplate, OrderIdempotencyProperties properties,
+                                   JsonMapper jsonMapper, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+        this.jsonMapper = jsonMapper;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(properties.cacheSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, completed, "orders.idempotency");
+    }
+
+    // insert is called at most once per key, with the order id reserved for it
+    public Mono<Order> create(String caller, String key, Order request, Function<String, Mono<Order>> insert) {
+        if (key.isBlank() || key.length() > properties.maxKeyLength()) {
+            throw new IllegalArgumentException("Idempotency-Key must be 1 to " + properties.maxKeyLength()
+                    + " characters");
+        }
+        String id = hash(caller + '\n' + key); // header values cannot contain a newline
+        String fingerprint = hash(jsonMapper.writeValueAsString(request));
+
+        OrderIdempotencyRecord done = completed.getIfPresent(id);
+        if (done != null) {
+            return replay(done, fingerprint);
+        }
+        InFlight running = inFlight.computeIfAbsent(id, k -> new InFlight(fingerprint,
+                claim(k, fingerprint, insert)
+                        .doFinally(signal -> inFlight.remove(k))
+                        .cache()));
+        if (!running.fingerprint().equals(fingerprint)) {
+            return Mono.error(reused());
+        }
+        return running.result();
+    }
+
+    private Mono<Order> claim(String id, String fingerprint, Function<String, Mono<Order>> insert) {
+        Instant now = Instant.now();
+        OrderIdempotencyRecord claim = new OrderIdempotencyRecord(id, fingerprint, new ObjectId().toHexString(), now,
+                now.plus(properties.ttl()));
+        return mongoTemplate.insert(claim)
+                .map(inserted -> true)
+                .onErrorResume(DuplicateKeyException.class, ex -> Mono.just(false))
+                .flatMap(claimed -> claimed ? run(claim, insert, false) : awaitExisting(id, fingerprint, insert));
+    }
+
+    private Mono<Order> run(OrderIdempotencyRecord claim, Function<String, Mono<Order>> insert, boolean takeover) {
+        return Mono.defer(() -> insert.apply(claim.getOrderId()))
+                // A crashed first attempt may have inserted the order before it could complete the claim
+                .onErrorResume(DuplicateKeyException.class, ex -> takeover
+                        ? mongoTemplate.findById(claim.getOrderId(), Order.class) : Mono.error(ex))
+                // Nothing was written, so the key is free for the client's next attempt
+                .onErrorResume(ex -> mongoTemplate.remove(claim).then(Mono.error(ex)))
+                .flatMap(order -> complete(claim, order));
+    }
+
+    private Mono<Order> complete(OrderIdempotencyRecord claim, Order order) {
+        Update update = new Update().set("completed", true).set("response", order);
+        return mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(claim.getId())), update,
+                        OrderIdempotencyRecord.class)
+                .doOnSuccess(result -> {
+                    claim.setCompleted(true);
+                    claim.setResponse(order);
+                    completed.put(claim.getId(), claim);
+                })
+                .thenReturn(order);
+    }
+
+    // The key is held by an earlier request, possibly on another instance: replay, wait for it or take it over
+    private Mono<Order> awaitExisting(String id, String fingerprint, Function<String, Mono<Order>> insert) {
+        long polls = Math.max(1, properties.duplicateWait().toMillis() / POLL_INTERVAL.toMillis());
+        return Mono.defer(() -> mongoTemplate.findById(id, OrderIdempotencyRecord.class))
+                .flatMap(existing -> {
+                    if (!existing.getFingerprint().equals(fingerprint)) {
+                        return Mono.error(reused());
+                    }
+                    if (existing.isCompleted()) {
+                        completed.put(id, existing);
+                        return Mono.just(existing.getResponse());
+                    }
+                    if (existing.getClaimedAt().plus(properties.claimTimeout()).isBefore(Instant.now())) {
+                        return takeOver(existing, insert);
+                    }
+                    return Mono.empty();
+                })
+                .repeatWhenEmpty(attempts -> attempts.take(polls).delayElements(POLL_INTERVAL))
+                .switchIfEmpty(Mono.error(() -> new ConcurrencyFailureException(
+                        "A request with this Idempotency-Key is still being processed")));
+    }
+
+    // Empty when another duplicate took the abandoned claim first
+    private Mono<Order> takeOver(OrderIdempotencyRecord abandoned, Function<String, Mono<Order>> insert) {
+        Query query = Query.query(Criteria.where("_id").is(abandoned.getId())
+                .and("completed").is(false)
+                .and("claimedAt").is(abandoned.getClaimedAt()));
+        return mongoTemplate.findAndModify(query, new Update().set("claimedAt", Instant.now()),
+                        FindAndModifyOptions.options().returnNew(true), OrderIdempotencyRecord.class)
+                .flatMap(claim -> run(claim, insert, true));
+    }
+
+    private Mono<Order> replay(OrderIdempotencyRecord record, String fingerprint) {
+        return record.getFingerprint().equals(fingerprint) ? Mono.just(record.getResponse()) : Mono.error(reused());
+    }
+
+    private static IllegalArgumentException reused() {
+        return new IllegalArgumentException("Idempotency-Key was already used with a different request");
+    }
+
+    private static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private record InFlight(String fingerprint, Mono<Order> result) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.monks.order_service.service;
+
+import com.monks.mongo.MongoErrors;
+import com.monks.order_service.config.OrderOutboxProperties;
+import com.monks.order_service.model.Order;
+import com.monks.order_service.model.OrderOutboxEvent;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.ReactiveMongoTransactionManager;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Write side of the order outbox: an order change and its event commit or roll back together, so
+ * downstream consumers never miss a change and never see one that did not happen. With
+ * {@code orders.outbox.enabled=false} both methods are pass-throughs.
+ */
+@Service
+public class OrderOutbox {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final OrderOutboxProperties properties;
+    private final TransactionalOperator transactions;
+
+    public OrderOutbox(ReactiveMongoTemplate mongoTemplate, ReactiveMongoDatabaseFactory databaseFactory,
+                       OrderOutboxProperties properties) {
+        this.mongoTemplate = mongoTemplate;
+        this.properties = properties;
+        this.transactions = TransactionalOperator.create(new ReactiveMongoTransactionManager(databaseFactory));
+    }
+
+    /**
+     * Runs the order write and the append() calls it makes in one Mongo transaction. Concurrent writes to one
+     * order conflict instead of queueing as plain findAndModify calls do, so a transaction that lost is run
+     * again from the start; {@code write} has to be safe to resubscribe. 409 once the retries are used up.
+     */
+    public <T> Mono<T> atomically(Mono<T> write) {
+        if (!properties.enabled()) {
+            return write;
+        }
+        return transactions.transactional(write)
+                .retryWhen(Retry.backoff(properties.transactionRetries(), Duration.ofMillis(5))
+                        .filter(ex -> MongoErrors.hasLabel(ex, MongoErrors.TRANSIENT_TRANSACTION_ERROR))
+                        .onRetryExhaustedThrow((spec, signal) -> new ConcurrencyFailureException(
+                                "The order was changed concurrently, try again", signal.failure())));
+    }
+
+    public Mono<Void> append(OrderOutboxEvent.Type type, Order order) {
+        if (!properties.enabled()) {
+            return Mono.empty();
+        }
+        long version = order.getVersion() == null ? 0 : order.getVersion();
+        long sequence = type == OrderOutboxEvent.Type.DELETED ? version + 1 : version;
+        return mongoTemplate.insert(new OrderOutboxEvent(type, order, sequence, Instant.now())).then();
+    }
+}
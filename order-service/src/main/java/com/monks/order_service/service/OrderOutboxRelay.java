@@ -0,0 +1,168 @@
+package com.monks.order_service.service;
+
+import com.monks.order_service.config.OrderOutboxProperties;
+import com.monks.order_service.model.OrderOutboxEvent;
+import com.monks.order_service.outbox.OutboxSink;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Publishes outbox events to the {@link OutboxSink} in batches, oldest first. One instance at a time
+ * relays, holding a lease document it renews on every pass and, once half of it has passed, before
+ * each order's events go out. Publishing one order's events may take at most the other half, so no
+ * publish outlives the lease and two instances never publish at the same time. Events of one order are
+ * published sequentially in version order and deleted only after the sink accepted them; different
+ * orders are published in parallel. Reports the age of the oldest pending event as
+ * {@code orders.outbox.lag}.
+ */
+@Slf4j
+@Component
+public class OrderOutboxRelay implements SmartLifecycle {
+
+    private static final String LEASE_COLLECTION = "order_outbox_lease";
+    private static final String LEASE_ID = "relay";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final OutboxSink sink;
+    private final OrderOutboxProperties properties;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter published;
+    private final Counter failed;
+    private volatile Disposable subscription;
+    private volatile Instant renewLeaseAfter = Instant.MIN;
+
+    public OrderOutboxRelay(ReactiveMongoTemplate mongoTemplate, OutboxSink sink, OrderOutboxProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.sink = sink;
+        this.properties = properties;
+        this.published = Counter.builder("orders.outbox.published")
+                .description("Outbox events accepted by the sink")
+                .register(meterRegistry);
+        this.failed = Counter.builder("orders.outbox.failed")
+                .description("Outbox events whose publication failed and will be retried")
+                .register(meterRegistry);
+        TimeGauge.builder("orders.outbox.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest unpublished outbox event, 0 on instances not relaying")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        subscription = Flux.interval(Duration.ZERO, properties.pollInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> drain()
+                        .onErrorResume(ex -> {
+                            log.warn("Outbox relay pass failed, retrying on the next tick: {}", ex.getMessage());
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    // Full batches are followed by the next one right away; a short or partly failed batch ends the pass
+    private Mono<Void> drain() {
+        return relayBatch()
+                .expand(count -> count == properties.batchSize() ? relayBatch() : Mono.empty())
+                .then();
+    }
+
+    private Mono<Integer> relayBatch() {
+        return acquireLease().flatMap(leader -> {
+            if (!leader) {
+                lagMillis.set(0);
+                return Mono.just(0);
+            }
+            Query oldest = new Query().with(Sort.by("createdAt", "_id")).limit(properties.batchSize());
+            return mongoTemplate.find(oldest, OrderOutboxEvent.class).collectList().flatMap(this::publish);
+        });
+    }
+
+    private Mono<Integer> publish(List<OrderOutboxEvent> batch) {
+        lagMillis.set(batch.isEmpty() ? 0
+                : Math.max(0, Duration.between(batch.get(0).getCreatedAt(), Instant.now()).toMillis()));
+        Map<String, List<OrderOutboxEvent>> byOrder = batch.stream()
+                .sorted(Comparator.comparingLong(OrderOutboxEvent::getSequence))
+                .collect(Collectors.groupingBy(OrderOutboxEvent::getOrderId, LinkedHashMap::new, Collectors.toList()));
+        return Flux.fromIterable(byOrder.values())
+                .flatMap(events -> holdLease()
+                        .filter(leader -> leader)
+                        .switchIfEmpty(Mono.error(() -> new IllegalStateException("Relay lease lost")))
+                        .then(Mono.defer(() -> sink.publish(events)).timeout(properties.leaseTime().dividedBy(2)))
+                        .then(mongoTemplate.remove(Query.query(Criteria.where("_id")
+                                .in(events.stream().map(OrderOutboxEvent::getId).toList())), OrderOutboxEvent.class))
+                        .doOnSuccess(removed -> published.increment(events.size()))
+                        .thenReturn(events.size())
+                        .onErrorResume(ex -> {
+                            failed.increment(events.size());
+                            log.warn("Publishing {} outbox events of order {} failed: {}", events.size(),
+                                    events.get(0).getOrderId(), ex.getMessage());
+                            return Mono.just(0);
+                        }), properties.publishConcurrency())
+                .reduce(0, Integer::sum);
+    }
+
+    // Takes or renews the lease; losing the upsert race to the current holder means someone else relays
+    private Mono<Boolean> acquireLease() {
+        Instant now = Instant.now();
+        Query query = Query.query(Criteria.where("_id").is(LEASE_ID)
+                .orOperator(Criteria.where("until").lt(now), Criteria.where("owner").is(instanceId)));
+        Update update = new Update().set("owner", instanceId).set("until", now.plus(properties.leaseTime()));
+        return mongoTemplate.upsert(query, update, LEASE_COLLECTION)
+                .doOnSuccess(result -> renewLeaseAfter = now.plus(properties.leaseTime().dividedBy(2)))
+                .thenReturn(true)
+                .onErrorResume(DuplicateKeyException.class, ex -> {
+                    renewLeaseAfter = Instant.MIN;
+                    return Mono.just(false);
+                });
+    }
+
+    // At least half of the lease is left afterwards, enough for one order's publish
+    private Mono<Boolean> holdLease() {
+        return Instant.now().isBefore(renewLeaseAfter) ? Mono.just(true) : Mono.defer(this::acquireLease);
+    }
+
+    @Override
+    public void stop() {
+        Disposable running = subscription;
+        if (running != null) {
+            running.dispose();
+            subscription = null;
+            // Hand the lease over right away instead of letting it time out
+            mongoTemplate.remove(Query.query(Criteria.where("_id").is(LEASE_ID).and("owner").is(instanceId)),
+                    LEASE_COLLECTION).subscribe();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return subscription != null;
+    }
+}
@@ -0,0 +1,47 @@
+package com.monks.order_service.service;
+
+import com.monks.order_service.model.Order;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Exact order pricing. Amounts enter and leave as {@link BigDecimal} with two decimals, but the
+ * arithmetic runs on primitive {@code long} minor units (cents), so a cart costs one conversion per
+ * item and no intermediate objects. Overflow and sub-cent prices are rejected rather than rounded.
+ */
+@Service
+public class OrderPricingService {
+
+    public static final int SCALE = 2;
+
+    // Fills in each item's subtotal and returns the order total
+    public BigDecimal price(List<Order.OrderItem> items) {
+        long totalMinor = 0;
+        for (Order.OrderItem item : items) {
+            if (item.getUnitPrice() == null) {
+                throw new IllegalArgumentException("Item " + item.getProductId() + " has no unitPrice");
+            }
+            if (item.getQuantity() <= 0) {
+                throw new IllegalArgumentException("Item " + item.getProductId() + " needs a positive quantity");
+            }
+            long subtotalMinor = Math.multiplyExact(toMinor(item.getUnitPrice()), (long) item.getQuantity());
+            item.setSubtotal(fromMinor(subtotalMinor));
+            totalMinor = Math.addExact(totalMinor, subtotalMinor);
+        }
+        return fromMinor(totalMinor);
+    }
+
+    public static long toMinor(BigDecimal amount) {
+        try {
+            return amount.movePointRight(SCALE).longValueExact();
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("Amount " + amount + " is not a whole number of cents", ex);
+        }
+    }
+
+    public static BigDecimal fromMinor(long minor) {
+        return BigDecimal.valueOf(minor, SCALE);
+    }
+}
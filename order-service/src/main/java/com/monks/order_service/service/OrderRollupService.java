@@ -0,0 +1,111 @@
+package com.monks.order_service.service;
+
+import com.monks.order_service.config.OrderAnalyticsProperties;
+import com.monks.order_service.model.Order;
+import com.monks.order_service.model.OrderDailyRollup;
+import com.monks.order_service.repository.OrderAnalyticsRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps {@link OrderDailyRollup} documents in step with order writes by applying the difference
+ * between an order's previous and new state as upserted {@code $inc} updates. Best effort: a failed
+ * rollup write does not fail the order write. Does nothing unless {@code orders.analytics.rollup-enabled}.
+ */
+@Service
+@RequiredArgsConstructor
+public class OrderRollupService {
+
+    private static final DateTimeFormatter DAY = DateTimeFormatter.ISO_LOCAL_DATE.withZone(ZoneOffset.UTC);
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final OrderAnalyticsProperties properties;
+
+    // The fields a rollup depends on, captured before an order is modified in place
+    public Order snapshot(Order order) {
+        Order copy = new Order();
+        copy.setCreatedAt(order.getCreatedAt());
+        copy.setStatus(order.getStatus());
+        copy.setTotalAmount(order.getTotalAmount());
+        return copy;
+    }
+
+    // before is null for inserts, after is null for deletes
+    public Mono<Void> record(Order before, Order after) {
+        if (!properties.rollupEnabled()) {
+            return Mono.empty();
+        }
+        Map<String, Delta> deltas = new HashMap<>();
+        contribute(deltas, before, -1);
+        contribute(deltas, after, 1);
+        return apply(deltas.values());
+    }
+
+    public Mono<Void> recordInserts(List<Order> inserted) {
+        if (!properties.rollupEnabled()) {
+            return Mono.empty();
+        }
+        Map<String, Delta> deltas = new HashMap<>();
+        inserted.forEach(order -> contribute(deltas, order, 1));
+        return apply(deltas.values());
+    }
+
+    private void contribute(Map<String, Delta> deltas, Order order, int sign) {
+        if (order == null || order.getCreatedAt() == null) {
+            return;
+        }
+        Delta delta = deltas.computeIfAbsent(DAY.format(order.getCreatedAt()), Delta::new);
+        if (!OrderAnalyticsRepository.CANCELLED.equals(order.getStatus()) && order.getTotalAmount() != null) {
+            delta.revenue = sign > 0 ? delta.revenue.add(order.getTotalAmount())
+                    : delta.revenue.subtract(order.getTotalAmount());
+        }
+        delta.orders += sign;
+        delta.byStatus.merge(String.valueOf(order.getStatus()), (long) sign, Long::sum);
+    }
+
+    private Mono<Void> apply(Collection<Delta> deltas) {
+        return Flux.fromIterable(deltas)
+                .filter(Delta::isChange)
+                .flatMap(delta -> {
+                    Update update = new Update().inc("revenue", delta.revenue).inc("orders", delta.orders);
+                    delta.byStatus.forEach((status, count) -> {
+                        if (count != 0) {
+                            update.inc("byStatus." + status, count);
+                        }
+                    });
+                    return mongoTemplate.upsert(new Query(Criteria.where("day").is(delta.day)), update,
+                            OrderDailyRollup.class);
+                })
+                .onErrorResume(ex -> Mono.empty())
+                .then();
+    }
+
+    private static final class Delta {
+        private final String day;
+        private BigDecimal revenue = BigDecimal.ZERO;
+        private long orders;
+        private final Map<String, Long> byStatus = new HashMap<>();
+
+        private Delta(String day) {
+            this.day = day;
+        }
+
+        private boolean isChange() {
+            return revenue.signum() != 0 || orders != 0 || byStatus.values().stream().anyMatch(count -> count != 0);
+        }
+    }
+}
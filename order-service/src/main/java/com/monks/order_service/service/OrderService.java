@@ -0,0 +1,118 @@
+package com.monks.order_service.service;
+
+import com.monks.order_service.model.Order;
+import com.monks.order_service.model.OrderPatch;
+import com.monks.order_service.model.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+
+@Service
+@RequiredArgsConstructor
+public class OrderService {
+
+    private final OrderPricingService pricing;
+
+    /**
+     * Defaults and derived fields for an order about to be inserted. The id, version and status in the body are
+     * ignored, so a create can never replace an existing order: {@code id} is the one reserved by an idempotent
+     * create or the batch, null lets Mongo assign one.
+     */
+    public Order prepareNew(Order order, String id) {
+        order.setId(id);
+        order.setVersion(null); // save() inserts while the version is unset
+        order.setStatus(OrderStatus.PENDING.name());
+        if (order.getCreatedAt() == null) {
+            order.setCreatedAt(Instant.now());
+        }
+        order.setUpdatedAt(Instant.now());
+
+        if (order.getItems() != null) {
+            order.setTotalAmount(pricing.price(order.getItems()));
+        }
+        return order;
+    }
+
+    /**
+     * $set update for PUT: every client editable field is replaced, nulls included. Mirrors
+     * {@link #applyReplace} so the response can be derived from the pre-update document. The status is
+     * left alone: it only changes through POST /api/orders/{id}/status/{status}, which checks the lifecycle.
+     */
+    public Update replaceUpdate(Order order, Instant now) {
+        if (order.getItems() != null) {
+            order.setTotalAmount(pricing.price(order.getItems())); // also fills the item subtotals written below
+        }
+        Update update = new Update()
+                .set("customerId", order.getCustomerId())
+                .set("customerName", order.getCustomerName())
+                .set("email", order.getEmail())
+                .set("items", order.getItems())
+                .set("updatedAt", now);
+        if (order.getItems() != null) {
+            update.set("totalAmount", order.getTotalAmount());
+        }
+        return update;
+    }
+
+    public Order applyReplace(Order existing, Order order, Instant now) {
+        existing.setCustomerId(order.getCustomerId());
+        existing.setCustomerName(order.getCustomerName());
+        existing.setEmail(order.getEmail());
+        existing.setItems(order.getItems());
+        existing.setUpdatedAt(now);
+        if (order.getItems() != null) {
+            existing.setTotalAmount(order.getTotalAmount()); // priced by replaceUpdate
+        }
+        return bumpVersion(existing);
+    }
+
+    // $set update for PATCH: only the fields present in the patch. Mirrors applyPatch.
+    public Update patchUpdate(OrderPatch patch, Instant now) {
+        Update update = new Update().set("updatedAt", now);
+        if (patch.customerId() != null) {
+            update.set("customerId", patch.customerId());
+        }
+        if (patch.customerName() != null) {
+            update.set("customerName", patch.customerName());
+        }
+        if (patch.email() != null) {
+            update.set("email", patch.email());
+        }
+        if (patch.items() != null) {
+            update.set("totalAmount", pricing.price(patch.items())).set("items", patch.items());
+        }
+        return update;
+    }
+
+    public Order applyPatch(Order existing, OrderPatch patch, Instant now) {
+        if (patch.customerId() != null) {
+            existing.setCustomerId(patch.customerId());
+        }
+        if (patch.customerName() != null) {
+            existing.setCustomerName(patch.customerName());
+        }
+        if (patch.email() != null) {
+            existing.setEmail(patch.email());
+        }
+        if (patch.items() != null) {
+            existing.setItems(patch.items());
+            existing.setTotalAmount(pricing.price(patch.items()));
+        }
+        existing.setUpdatedAt(now);
+        return bumpVersion(existing);
+    }
+
+    public Order applyTransition(Order existing, OrderStatus target, Instant now) {
+        existing.setStatus(target.name());
+        existing.setUpdatedAt(now);
+        return bumpVersion(existing);
+    }
+
+    // Same effect as the {$inc: {version: 1}} every update sends
+    private static Order bumpVersion(Order order) {
+        order.setVersion(order.getVersion() == null ? 1L : order.getVersion() + 1);
+        return order;
+    }
+}
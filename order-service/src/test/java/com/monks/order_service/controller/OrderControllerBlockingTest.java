@@ -0,0 +1,193 @@
+package com.monks.order_service.controller;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.mongodb.reactivestreams.client.ClientSession;
+import com.monks.order_service.config.OrderAnalyticsProperties;
+import com.monks.order_service.config.OrderBatchProperties;
+import com.monks.order_service.config.OrderIdempotencyProperties;
+import com.monks.order_service.config.OrderOutboxProperties;
+import com.monks.order_service.config.OrderPagingProperties;
+import com.monks.order_service.model.Order;
+import com.monks.order_service.model.OrderDailyRollup;
+import com.monks.order_service.model.OrderIdempotencyRecord;
+import com.monks.order_service.model.OrderOutboxEvent;
+import com.monks.order_service.repository.OrderRepository;
+import com.monks.order_service.service.OrderBatchService;
+import com.monks.order_service.service.OrderIdempotencyService;
+import com.monks.order_service.service.OrderOutbox;
+import com.monks.order_service.service.OrderPricingService;
+import com.monks.order_service.service.OrderRollupService;
+import com.monks.order_service.service.OrderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.webflux.test.autoconfigure.WebFluxTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.ReactiveMongoDatabaseFactory;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.ReactiveBulkOperations;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.blockhound.BlockHound;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.csrf;
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.mockJwt;
+
+/**
+ * WebTestClient runs the handler chain on a parallel scheduler thread, which BlockHound treats like a Netty
+ * event loop: a blocking call anywhere between the controller and the encoded response fails the request.
+ * The services are the real ones, with the outbox transaction and the rollups on, so only Mongo is stubbed.
+ */
+@WebFluxTest(controllers = OrderController.class,
+        properties = {"orders.outbox.enabled=true", "orders.analytics.rollup-enabled=true"})
+@Import({OrderService.class, OrderPricingService.class, OrderBatchService.class, OrderRollupService.class,
+        OrderOutbox.class, OrderIdempotencyService.class})
+class OrderControllerBlockingTest {
+
+    private static final String ORDER = """
+            {"customerId":"c-1","customerName":"Ada","email":"ada@example.com",
+             "items":[{"productId":"p-1","productName":"Pen","quantity":2,"unitPrice":1.25}]}""";
+
+    @Autowired
+    private WebTestClient client;
+
+    @MockitoBean
+    private OrderRepository orderRepository;
+    @MockitoBean
+    private ReactiveMongoTemplate mongoTemplate;
+    @MockitoBean
+    private ReactiveMongoDatabaseFactory databaseFactory;
+
+    @BeforeAll
+    static void installBlockHound() {
+        BlockHound.install();
+    }
+
+    @BeforeEach
+    void mongo() {
+        Order order = new Order("o-1", 3L, "c-1", "Ada", "ada@example.com", List.of(), new BigDecimal("12.50"),
+                "PENDING", Instant.parse("2026-01-01T00:00:00Z"), null);
+        given(orderRepository.findById("o-1")).willReturn(Mono.just(order));
+        given(orderRepository.scrollAll(any(), anyInt(), any())).willAnswer(call -> Flux.just(order));
+        given(orderRepository.save(any(Order.class))).willAnswer(call -> {
+            Order saved = call.getArgument(0);
+            saved.setId(saved.getId() == null ? "o-2" : saved.getId());
+            saved.setVersion(0L);
+            return Mono.just(saved);
+        });
+
+        ClientSession session = mock(ClientSession.class);
+        given(session.commitTransaction()).willReturn(Mono.empty());
+        given(session.abortTransaction()).willReturn(Mono.empty());
+        given(databaseFactory.getSession(any())).willReturn(Mono.just(session));
+
+        given(mongoTemplate.insert(any(Object.class))).willAnswer(call -> Mono.just(call.getArgument(0)));
+        given(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class),
+                eq(OrderIdempotencyRecord.class))).willReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+        given(mongoTemplate.upsert(any(Query.class), any(UpdateDefinition.class), eq(OrderDailyRollup.class)))
+                .willReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+        ReactiveBulkOperations bulk = mock(ReactiveBulkOperations.class);
+        given(mongoTemplate.bulkOps(BulkMode.UNORDERED, Order.class)).willReturn(bulk);
+        given(bulk.insert(anyList())).willReturn(bulk);
+        given(bulk.execute()).willReturn(Mono.just(mock(BulkWriteResult.class)));
+    }
+
+    @Test
+    void pagedListDoesNotBlock() {
+        client.mutateWith(mockJwt()).get().uri("/api/orders?size=10")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.items[0].id").isEqualTo("o-1");
+    }
+
+    @Test
+    void streamDoesNotBlock() {
+        client.mutateWith(mockJwt()).get().uri("/api/orders/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Order.class).hasSize(1);
+    }
+
+    @Test
+    void lookupDoesNotBlock() {
+        client.mutateWith(mockJwt()).get().uri("/api/orders/o-1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals("ETag", "\"3\"");
+    }
+
+    @Test
+    void createDoesNotBlock() {
+        client.mutateWith(mockJwt()).mutateWith(csrf()).post().uri("/api/orders")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ORDER)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody().jsonPath("$.totalAmount").isEqualTo(2.5);
+
+        verify(databaseFactory).getSession(any()); // the save and the outbox append ran in a transaction
+        verify(mongoTemplate).insert(any(OrderOutboxEvent.class));
+    }
+
+    @Test
+    void idempotentCreateAndReplayDoNotBlock() {
+        for (int i = 0; i < 2; i++) { // claims the key and inserts, then replays from the in-process cache
+            client.mutateWith(mockJwt()).mutateWith(csrf()).post().uri("/api/orders")
+                    .header("Idempotency-Key", "k-1")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .bodyValue(ORDER)
+                    .exchange()
+                    .expectStatus().isCreated();
+        }
+
+        verify(mongoTemplate).insert(any(OrderIdempotencyRecord.class));
+        verify(orderRepository, times(1)).save(any(Order.class));
+    }
+
+    @Test
+    void batchDoesNotBlock() {
+        client.mutateWith(mockJwt()).mutateWith(csrf()).post().uri("/api/orders/batch")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .bodyValue(ORDER.replace("\n", "") + "\n" + ORDER.replace("\n", "") + "\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Object.class).hasSize(2);
+    }
+
+    @TestConfiguration
+    @EnableConfigurationProperties({OrderPagingProperties.class, OrderBatchProperties.class,
+            OrderAnalyticsProperties.class, OrderOutboxProperties.class, OrderIdempotencyProperties.class})
+    static class Properties {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
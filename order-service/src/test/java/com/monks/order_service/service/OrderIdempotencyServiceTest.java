@@ -0,0 +1,143 @@
+package com.monks.order_service.service;
+
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.monks.order_service.config.OrderIdempotencyProperties;
+import com.monks.order_service.model.Order;
+import com.monks.order_service.model.OrderIdempotencyRecord;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class OrderIdempotencyServiceTest {
+
+    private static final String STALE_ORDER_ID = "65f000000000000000000001";
+
+    private final ReactiveMongoTemplate mongoTemplate = mock(ReactiveMongoTemplate.class);
+    private final OrderIdempotencyService service = new OrderIdempotencyService(mongoTemplate,
+            new OrderIdempotencyProperties(Duration.ofHours(24), 100, 255, Duration.ofSeconds(30),
+                    Duration.ofMillis(300)),
+            JsonMapper.builder().build(), new SimpleMeterRegistry());
+
+    // Order ids the insert callback was called with
+    private final List<String> inserted = new ArrayList<>();
+    private final Function<String, Mono<Order>> insert = orderId -> {
+        inserted.add(orderId);
+        Order order = order("c-1");
+        order.setId(orderId);
+        return Mono.just(order);
+    };
+
+    @BeforeEach
+    void mongo() {
+        given(mongoTemplate.insert(any(OrderIdempotencyRecord.class)))
+                .willAnswer(call -> Mono.just(call.getArgument(0)));
+        given(mongoTemplate.updateFirst(any(Query.class), any(UpdateDefinition.class),
+                eq(OrderIdempotencyRecord.class))).willReturn(Mono.just(UpdateResult.acknowledged(1, 1L, null)));
+        given(mongoTemplate.remove(any(Object.class))).willReturn(Mono.just(DeleteResult.acknowledged(1)));
+    }
+
+    @Test
+    void repeatGetsTheFirstResponseWithoutASecondInsert() {
+        Order first = service.create("alice", "k-1", order("c-1"), insert).block();
+        Order replayed = service.create("alice", "k-1", order("c-1"), insert).block();
+
+        assertSame(first, replayed);
+        assertEquals(1, inserted.size());
+        assertEquals(inserted.getFirst(), first.getId());
+    }
+
+    @Test
+    void sameKeyFromAnotherCallerIsAnotherRequest() {
+        service.create("alice", "k-1", order("c-1"), insert).block();
+        service.create("bob", "k-1", order("c-1"), insert).block();
+
+        assertEquals(2, inserted.size());
+    }
+
+    @Test
+    void reusedKeyWithADifferentBodyIsABadRequest() {
+        service.create("alice", "k-1", order("c-1"), insert).block();
+
+        // The controller advice answers IllegalArgumentException with 400
+        assertThrows(IllegalArgumentException.class,
+                () -> service.create("alice", "k-1", order("c-2"), insert).block());
+        assertEquals(1, inserted.size());
+    }
+
+    @Test
+    void staleClaimIsTakenOverWithItsOrderId() {
+        abandonedClaim();
+
+        Order order = service.create("alice", "k-1", order("c-1"), insert).block();
+
+        assertEquals(List.of(STALE_ORDER_ID), inserted);
+        assertEquals(STALE_ORDER_ID, order.getId());
+    }
+
+    @Test
+    void takeoverReturnsTheOrderACrashedAttemptAlreadyInserted() {
+        abandonedClaim();
+        Order existing = order("c-1");
+        existing.setId(STALE_ORDER_ID);
+        given(mongoTemplate.findById(STALE_ORDER_ID, Order.class)).willReturn(Mono.just(existing));
+
+        Order order = service.create("alice", "k-1", order("c-1"),
+                orderId -> Mono.error(new DuplicateKeyException("E11000"))).block();
+
+        assertSame(existing, order);
+        verify(mongoTemplate, never()).remove(any(Object.class));
+    }
+
+    // A first attempt claimed the key a minute ago and never completed it; the takeover wins the claim
+    private void abandonedClaim() {
+        AtomicReference<OrderIdempotencyRecord> stored = new AtomicReference<>();
+        given(mongoTemplate.insert(any(OrderIdempotencyRecord.class))).willAnswer(call -> {
+            OrderIdempotencyRecord claim = call.getArgument(0);
+            stored.set(new OrderIdempotencyRecord(claim.getId(), claim.getFingerprint(), STALE_ORDER_ID,
+                    Instant.now().minus(Duration.ofMinutes(1)), claim.getExpiresAt()));
+            return Mono.error(new DuplicateKeyException("E11000"));
+        });
+        given(mongoTemplate.findById(anyString(), eq(OrderIdempotencyRecord.class)))
+                .willAnswer(call -> Mono.fromSupplier(stored::get));
+        given(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class),
+                any(FindAndModifyOptions.class), eq(OrderIdempotencyRecord.class)))
+                .willAnswer(call -> Mono.fromSupplier(() -> {
+                    OrderIdempotencyRecord claim = stored.get();
+                    claim.setClaimedAt(Instant.now());
+                    return claim;
+                }));
+    }
+
+    private static Order order(String customerId) {
+        Order order = new Order();
+        order.setCustomerId(customerId);
+        order.setCustomerName("Ada");
+        return order;
+    }
+}
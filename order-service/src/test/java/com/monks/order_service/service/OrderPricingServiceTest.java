@@ -0,0 +1,43 @@
+package com.monks.order_service.service;
+
+import com.monks.order_service.model.Order;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OrderPricingServiceTest {
+
+    private final OrderPricingService pricing = new OrderPricingService();
+
+    @Test
+    void totalsAreExactToTheCent() {
+        // 0.1 + 0.2 style amounts that drift as doubles
+        List<Order.OrderItem> items = List.of(item("0.10", 3), item("0.20", 1), item("19.99", 7));
+
+        assertEquals(new BigDecimal("140.43"), pricing.price(items));
+        assertEquals(new BigDecimal("0.30"), items.get(0).getSubtotal());
+        assertEquals(new BigDecimal("139.93"), items.get(2).getSubtotal());
+    }
+
+    @Test
+    void rejectsSubCentPrices() {
+        assertThrows(IllegalArgumentException.class, () -> pricing.price(List.of(item("1.005", 1))));
+    }
+
+    @Test
+    void rejectsNonPositiveQuantities() {
+        assertThrows(IllegalArgumentException.class, () -> pricing.price(List.of(item("1.00", 0))));
+    }
+
+    private static Order.OrderItem item(String unitPrice, int quantity) {
+        Order.OrderItem item = new Order.OrderItem();
+        item.setProductId("p-" + unitPrice);
+        item.setUnitPrice(new BigDecimal(unitPrice));
+        item.setQuantity(quantity);
+        return item;
+    }
+}
@@ -0,0 +1,49 @@
+package com.monks.perf.auth;
+
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+
+/**
+ * Stands in for the authorization server during load tests: publishes the {@link TokenSigner} key at
+ * {@code /oauth2/jwks}, so the gateway and the services accept the generator's tokens, and answers the
+ * gateway's client-credentials requests at {@code /oauth2/token}. Token issuance stays out of the
+ * measured path this way.
+ */
+public class StubAuthServer implements AutoCloseable {
+
+    private final DisposableServer server;
+
+    private StubAuthServer(DisposableServer server) {
+        this.server = server;
+    }
+
+    public static StubAuthServer start(int port, TokenSigner signer, Duration tokenTtl) {
+        DisposableServer server = HttpServer.create()
+                .port(port)
+                .route(routes -> routes
+                        .get("/oauth2/jwks", (request, response) -> response
+                                .header(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON)
+                                .sendString(Mono.fromSupplier(signer::jwkSetJson)))
+                        .post("/oauth2/token", (request, response) -> response
+                                .header(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON)
+                                .sendString(request.receive().then(Mono.fromSupplier(() -> """
+                                        {"access_token":"%s","token_type":"Bearer","expires_in":%d,"scope":"read write"}"""
+                                        .formatted(signer.sign("api-gateway", tokenTtl), tokenTtl.toSeconds()))))))
+                .bindNow();
+        return new StubAuthServer(server);
+    }
+
+    public int port() {
+        return server.port();
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+}
@@ -0,0 +1,89 @@
+package com.monks.perf.auth;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JOSEObjectType;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.JWSSigner;
+import com.nimbusds.jose.crypto.ECDSASigner;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.Curve;
+import com.nimbusds.jose.jwk.ECKey;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.ECKeyGenerator;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+// Issues access tokens shaped like the authorization server's, with a key generated for this run
+public class TokenSigner {
+
+    public static final String ISSUER = "http://localhost:9090";
+
+    private final JWK key;
+    private final JWSSigner signer;
+    private final JWSAlgorithm algorithm;
+
+    private TokenSigner(JWK key, JWSSigner signer, JWSAlgorithm algorithm) {
+        this.key = key;
+        this.signer = signer;
+        this.algorithm = algorithm;
+    }
+
+    // RS256 or ES256, the two algorithms the services accept
+    public static TokenSigner generate(String algorithm) {
+        String keyId = UUID.randomUUID().toString();
+        try {
+            if (JWSAlgorithm.ES256.getName().equals(algorithm)) {
+                ECKey key = new ECKeyGenerator(Curve.P_256).keyID(keyId).generate();
+                return new TokenSigner(key, new ECDSASigner(key), JWSAlgorithm.ES256);
+            }
+            if (JWSAlgorithm.RS256.getName().equals(algorithm)) {
+                RSAKey key = new RSAKeyGenerator(2048).keyID(keyId).generate();
+                return new TokenSigner(key, new RSASSASigner(key), JWSAlgorithm.RS256);
+            }
+        } catch (JOSEException ex) {
+            throw new IllegalStateException("Could not generate a " + algorithm + " key", ex);
+        }
+        throw new IllegalArgumentException("algorithm must be RS256 or ES256: " + algorithm);
+    }
+
+    public String sign(String subject, Duration ttl) {
+        Instant now = Instant.now();
+        JWTClaimsSet claims = new JWTClaimsSet.Builder()
+                .issuer(ISSUER)
+                .subject(subject)
+                .audience("api-gateway")
+                .claim("scope", List.of("read", "write"))
+                .issueTime(Date.from(now))
+                .notBeforeTime(Date.from(now))
+                .expirationTime(Date.from(now.plus(ttl)))
+                .jwtID(UUID.randomUUID().toString())
+                .build();
+        JWSHeader header = new JWSHeader.Builder(algorithm).keyID(key.getKeyID()).type(JOSEObjectType.JWT).build();
+        SignedJWT jwt = new SignedJWT(header, claims);
+        try {
+            jwt.sign(signer);
+        } catch (JOSEException ex) {
+            throw new IllegalStateException("Could not sign a token", ex);
+        }
+        return jwt.serialize();
+    }
+
+    public JWK publicKey() {
+        return key.toPublicJWK();
+    }
+
+    // What /oauth2/jwks serves
+    public String jwkSetJson() {
+        return new JWKSet(publicKey()).toString();
+    }
+}
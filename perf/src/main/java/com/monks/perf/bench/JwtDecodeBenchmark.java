@@ -0,0 +1,74 @@
+package com.monks.perf.bench;
+
+import com.monks.perf.auth.TokenSigner;
+import com.monks.security.jwt.CachingReactiveJwtDecoder;
+import com.nimbusds.jose.jwk.JWK;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.oauth2.jose.jws.SignatureAlgorithm;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.NimbusReactiveJwtDecoder;
+import org.springframework.security.oauth2.jwt.ReactiveJwtDecoder;
+import reactor.core.publisher.Flux;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+// Full signature and claim verification per algorithm, against the cache hit every repeat caller gets
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtDecodeBenchmark {
+
+    @Param({"RS256", "ES256"})
+    private String algorithm;
+
+    private ReactiveJwtDecoder verifying;
+    private ReactiveJwtDecoder caching;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        TokenSigner signer = TokenSigner.generate(algorithm);
+        JWK key = signer.publicKey();
+        // Same decoder setup as JwtDecoderConfiguration, with the JWK set already fetched
+        verifying = NimbusReactiveJwtDecoder.withJwkSource(jwt -> Flux.just(key))
+                .jwsAlgorithm(SignatureAlgorithm.RS256)
+                .jwsAlgorithm(SignatureAlgorithm.ES256)
+                .build();
+        caching = new CachingReactiveJwtDecoder(verifying, 10_000, new SimpleMeterRegistry(), Clock.systemUTC());
+        token = signer.sign("bench-user", Duration.ofHours(1));
+        caching.decode(token).block();
+    }
+
+    @Benchmark
+    public Jwt verify() {
+        return verifying.decode(token).block();
+    }
+
+    @Benchmark
+    public Jwt cached() {
+        return caching.decode(token).block();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtDecodeBenchmark.class.getSimpleName()).build()).run();
+    }
+}
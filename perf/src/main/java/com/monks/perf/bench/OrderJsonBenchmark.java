@@ -0,0 +1,83 @@
+package com.monks.perf.bench;
+
+import com.monks.order_service.model.Order;
+import com.monks.order_service.service.OrderPricingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Request and response body cost of an Order as its items list grows
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderJsonBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int itemCount;
+
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private Order order;
+    private byte[] json;
+
+    @Setup
+    public void setUp() {
+        order = order(itemCount);
+        json = jsonMapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return jsonMapper.writeValueAsBytes(order);
+    }
+
+    @Benchmark
+    public Order deserialize() {
+        return jsonMapper.readValue(json, Order.class);
+    }
+
+    // A priced order as the service stores and returns it
+    static Order order(int itemCount) {
+        List<Order.OrderItem> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(new Order.OrderItem("product-" + i, "Product " + i, 1 + i % 5,
+                    BigDecimal.valueOf(199 + i, 2), null));
+        }
+        Order order = new Order();
+        order.setId("65f0c0ffee00000000000001");
+        order.setVersion(3L);
+        order.setCustomerId("65f0c0ffee00000000000002");
+        order.setCustomerName("Bench Customer");
+        order.setEmail("bench@example.com");
+        order.setItems(items);
+        order.setTotalAmount(new OrderPricingService().price(items));
+        order.setStatus("CONFIRMED");
+        order.setCreatedAt(Instant.parse("2026-01-01T00:00:00Z"));
+        order.setUpdatedAt(Instant.parse("2026-01-02T00:00:00Z"));
+        return order;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(OrderJsonBenchmark.class.getSimpleName()).build()).run();
+    }
+}
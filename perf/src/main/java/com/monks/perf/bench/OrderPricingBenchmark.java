@@ -0,0 +1,72 @@
+package com.monks.perf.bench;
+
+import com.monks.order_service.model.Order;
+import com.monks.order_service.service.OrderPricingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Pricing cost for large carts, compared with plain BigDecimal arithmetic
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderPricingBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    private int cartSize;
+
+    private final OrderPricingService pricing = new OrderPricingService();
+    private List<Order.OrderItem> items;
+
+    @Setup
+    public void setUp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        items = new ArrayList<>(cartSize);
+        for (int i = 0; i < cartSize; i++) {
+            Order.OrderItem item = new Order.OrderItem();
+            item.setProductId("p" + i);
+            item.setUnitPrice(BigDecimal.valueOf(random.nextLong(1, 100_000), 2));
+            item.setQuantity(random.nextInt(1, 20));
+            items.add(item);
+        }
+    }
+
+    @Benchmark
+    public BigDecimal minorUnits() {
+        return pricing.price(items);
+    }
+
+    // Baseline: the same sum done directly in BigDecimal
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (Order.OrderItem item : items) {
+            total = total.add(item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity())));
+        }
+        return total;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(OrderPricingBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,74 @@
+package com.monks.perf.load;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+// HTTP calls against the gateway, each with a token picked from the pool
+public class LoadClient {
+
+    public record Response(int status, byte[] body) {
+
+        public boolean ok() {
+            return status < 400;
+        }
+    }
+
+    private final HttpClient http;
+    private final List<String> tokens;
+    private final JsonMapper jsonMapper;
+
+    public LoadClient(LoadOptions options, List<String> tokens, JsonMapper jsonMapper) {
+        ConnectionProvider connections = ConnectionProvider.builder("load")
+                .maxConnections(options.maxInFlight())
+                .pendingAcquireMaxCount(-1) // queue instead of failing; the queueing shows up as latency
+                .build();
+        this.http = HttpClient.create(connections).baseUrl(options.target().toString());
+        this.tokens = tokens;
+        this.jsonMapper = jsonMapper;
+    }
+
+    public Mono<Response> get(String path) {
+        return http.headers(headers -> headers.set(HttpHeaderNames.AUTHORIZATION, bearer()))
+                .get()
+                .uri(path)
+                .responseSingle((response, body) -> body.asByteArray()
+                        .defaultIfEmpty(new byte[0])
+                        .map(bytes -> new Response(response.status().code(), bytes)));
+    }
+
+    // Every POST carries a fresh Idempotency-Key, as the clients do
+    public Mono<Response> post(String path, Object body) {
+        return http.headers(headers -> headers
+                        .set(HttpHeaderNames.AUTHORIZATION, bearer())
+                        .set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON)
+                        .set("Idempotency-Key", UUID.randomUUID().toString()))
+                .post()
+                .uri(path)
+                .send(Mono.fromSupplier(() -> Unpooled.wrappedBuffer(jsonMapper.writeValueAsBytes(body))))
+                .responseSingle((response, content) -> content.asByteArray()
+                        .defaultIfEmpty(new byte[0])
+                        .map(bytes -> new Response(response.status().code(), bytes)));
+    }
+
+    public String id(Response response) {
+        if (!response.ok()) {
+            throw new IllegalStateException("Request failed with " + response.status() + ": "
+                    + new String(response.body()));
+        }
+        return String.valueOf(jsonMapper.readValue(response.body(), Map.class).get("id"));
+    }
+
+    private String bearer() {
+        return "Bearer " + tokens.get(ThreadLocalRandom.current().nextInt(tokens.size()));
+    }
+}
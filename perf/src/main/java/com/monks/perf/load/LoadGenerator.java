@@ -0,0 +1,76 @@
+package com.monks.perf.load;
+
+import com.monks.perf.auth.StubAuthServer;
+import com.monks.perf.auth.TokenSigner;
+import tools.jackson.databind.SerializationFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Drives the running stack through the gateway, one scenario after another, and reports throughput and
+ * latency percentiles per scenario. Exits with 1 when a scenario breaks {@code --max-p99} or
+ * {@code --max-error-rate}, so a pipeline can stop a regression before it ships. See the README for setup.
+ */
+public final class LoadGenerator {
+
+    private static final Duration TOKEN_TTL = Duration.ofHours(1);
+
+    private LoadGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        LoadOptions options = LoadOptions.parse(args);
+        JsonMapper jsonMapper = JsonMapper.builder().enable(SerializationFeature.INDENT_OUTPUT).build();
+        TokenSigner signer = TokenSigner.generate(options.algorithm());
+
+        List<ScenarioResult> results = new ArrayList<>();
+        try (StubAuthServer ignored = options.stubAuth() ? StubAuthServer.start(9090, signer, TOKEN_TTL) : null) {
+            List<String> tokens = options.stubAuth()
+                    ? IntStream.range(0, options.subjects()).mapToObj(i -> signer.sign("load-" + i, TOKEN_TTL)).toList()
+                    : List.of(options.token());
+            LoadClient client = new LoadClient(options, tokens, jsonMapper);
+
+            System.out.printf("Seeding %d users and %d orders through %s%n", options.seedUsers(),
+                    options.seedOrders(), options.target());
+            Map<String, Scenarios.Scenario> scenarios = Scenarios.all(Scenarios.SeedData.create(client, options),
+                    options.items());
+
+            System.out.printf("%-16s %9s %7s %9s %9s %9s %9s %9s %9s%n", "scenario", "requests", "errors",
+                    "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+            for (String name : options.scenarios()) {
+                Scenarios.Scenario scenario = scenarios.get(name.trim());
+                if (scenario == null) {
+                    throw new IllegalArgumentException("Unknown scenario " + name + ", expected one of "
+                            + Scenarios.NAMES);
+                }
+                ScenarioResult result = LoadRun.run(scenario, client, options);
+                results.add(result);
+                System.out.printf("%-16s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", result.scenario(),
+                        result.requests(), result.errors(), result.throughput(), result.p50(), result.p90(),
+                        result.p99(), result.p999(), result.max());
+            }
+        }
+
+        Files.write(options.report(), jsonMapper.writeValueAsBytes(Map.of("options", options, "results", results)));
+        List<String> violations = new ArrayList<>();
+        double maxP99 = options.maxP99().toNanos() / 1e6;
+        for (ScenarioResult result : results) {
+            if (result.p99() > maxP99) {
+                violations.add("%s: p99 %.2f ms above %.2f ms".formatted(result.scenario(), result.p99(), maxP99));
+            }
+            if (result.errorRate() > options.maxErrorRate()) {
+                violations.add("%s: error rate %.4f above %.4f".formatted(result.scenario(), result.errorRate(),
+                        options.maxErrorRate()));
+            }
+        }
+        violations.forEach(System.err::println);
+        System.exit(violations.isEmpty() ? 0 : 1);
+    }
+}
@@ -0,0 +1,73 @@
+package com.monks.perf.load;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.boot.convert.DurationStyle;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Command line of {@link LoadGenerator}, as {@code --name=value} pairs.
+ *
+ * @param target       gateway base URL
+ * @param scenarios    scenarios to run, in order
+ * @param rate         requests per second, issued on schedule whether or not earlier ones finished
+ * @param warmup       unmeasured run before each scenario
+ * @param duration     measured run per scenario
+ * @param maxInFlight  open connections; requests beyond wait and their wait counts as latency
+ * @param subjects     distinct token subjects, spreading the gateway's per-subject rate limits
+ * @param seedUsers    users created before the scenarios
+ * @param seedOrders   orders created before the scenarios
+ * @param items        items per created order
+ * @param stubAuth     serve JWKS and tokens from {@link com.monks.perf.auth.StubAuthServer} on 9090
+ * @param token        bearer token to use instead, when the real authorization server is running
+ * @param algorithm    signing algorithm of the stub's key
+ * @param report       JSON report written after the run
+ * @param maxP99       fail the run when a scenario's p99 is above this
+ * @param maxErrorRate fail the run when a scenario's share of failed requests is above this
+ */
+public record LoadOptions(URI target, List<String> scenarios, int rate, Duration warmup, Duration duration,
+                          int maxInFlight, int subjects, int seedUsers, int seedOrders, int items,
+                          boolean stubAuth, @JsonIgnore String token, String algorithm, Path report,
+                          Duration maxP99, double maxErrorRate) {
+
+    public static LoadOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Expected --name=value: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(eq < 0 ? arg.substring(2) : arg.substring(2, eq), eq < 0 ? "true" : arg.substring(eq + 1));
+        }
+        LoadOptions options = new LoadOptions(
+                URI.create(values.getOrDefault("target", "http://localhost:9000")),
+                Arrays.asList(values.getOrDefault("scenarios", String.join(",", Scenarios.NAMES)).split(",")),
+                Integer.parseInt(values.getOrDefault("rate", "100")),
+                DurationStyle.detectAndParse(values.getOrDefault("warmup", "10s")),
+                DurationStyle.detectAndParse(values.getOrDefault("duration", "30s")),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "256")),
+                Integer.parseInt(values.getOrDefault("subjects", "100")),
+                Integer.parseInt(values.getOrDefault("seed-users", "200")),
+                Integer.parseInt(values.getOrDefault("seed-orders", "1000")),
+                Integer.parseInt(values.getOrDefault("items", "5")),
+                Boolean.parseBoolean(values.getOrDefault("stub-auth", "true")),
+                values.get("token"),
+                values.getOrDefault("algorithm", "RS256"),
+                Path.of(values.getOrDefault("report", "perf-report.json")),
+                DurationStyle.detectAndParse(values.getOrDefault("max-p99", "500ms")),
+                Double.parseDouble(values.getOrDefault("max-error-rate", "0.01")));
+        if (options.rate() <= 0 || options.maxInFlight() <= 0 || options.subjects() <= 0) {
+            throw new IllegalArgumentException("rate, max-in-flight and subjects must be positive");
+        }
+        if (!options.stubAuth() && options.token() == null) {
+            throw new IllegalArgumentException("--token is required with --stub-auth=false");
+        }
+        return options;
+    }
+}
@@ -0,0 +1,63 @@
+package com.monks.perf.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Open-model run of one scenario: a fixed arrival rate, independent of how fast responses come back
+final class LoadRun {
+
+    private static final long MAX_TRACKED_LATENCY = TimeUnit.MINUTES.toNanos(1);
+
+    private LoadRun() {
+    }
+
+    static ScenarioResult run(Scenarios.Scenario scenario, LoadClient client, LoadOptions options) {
+        drive(scenario, client, options, options.warmup(), newHistogram(), new AtomicLong());
+
+        Histogram latencies = newHistogram();
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        drive(scenario, client, options, options.duration(), latencies, errors);
+        return ScenarioResult.of(scenario.name(), latencies, errors.get(), Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private static void drive(Scenarios.Scenario scenario, LoadClient client, LoadOptions options, Duration length,
+                              Histogram latencies, AtomicLong errors) {
+        long period = TimeUnit.SECONDS.toNanos(1) / options.rate();
+        long count = length.toNanos() / period;
+        if (count == 0) {
+            return;
+        }
+        long origin = System.nanoTime();
+        Flux.interval(Duration.ofNanos(period))
+                .take(count)
+                .onBackpressureBuffer() // ticks keep their schedule while max-in-flight requests are out
+                .flatMap(tick -> {
+                    long scheduled = origin + (tick + 1) * period;
+                    return scenario.request().apply(client)
+                            .doOnNext(response -> {
+                                if (response.ok()) {
+                                    long latency = Math.max(0, System.nanoTime() - scheduled);
+                                    latencies.recordValue(Math.min(latency, MAX_TRACKED_LATENCY));
+                                } else {
+                                    errors.incrementAndGet();
+                                }
+                            })
+                            .onErrorResume(ex -> {
+                                errors.incrementAndGet();
+                                return Mono.empty();
+                            });
+                }, options.maxInFlight())
+                .blockLast();
+    }
+
+    private static Histogram newHistogram() {
+        return new ConcurrentHistogram(MAX_TRACKED_LATENCY, 3);
+    }
+}
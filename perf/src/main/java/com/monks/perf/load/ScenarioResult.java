@@ -0,0 +1,29 @@
+package com.monks.perf.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+
+/**
+ * Outcome of one measured scenario run. Latencies are in milliseconds and count from when a request was
+ * scheduled, not when it was sent, so a stalled backend is not hidden by requests waiting to go out.
+ */
+public record ScenarioResult(String scenario, long requests, long errors, double throughput, double p50,
+                             double p90, double p99, double p999, double max) {
+
+    static ScenarioResult of(String scenario, Histogram latencies, long errors, Duration elapsed) {
+        long requests = latencies.getTotalCount() + errors;
+        return new ScenarioResult(scenario, requests, errors, requests / (elapsed.toNanos() / 1e9),
+                millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(90)),
+                millis(latencies.getValueAtPercentile(99)), millis(latencies.getValueAtPercentile(99.9)),
+                millis(latencies.getMaxValue()));
+    }
+
+    public double errorRate() {
+        return requests == 0 ? 0 : (double) errors / requests;
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
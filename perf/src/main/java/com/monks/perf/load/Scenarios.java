@@ -0,0 +1,86 @@
+package com.monks.perf.load;
+
+import com.monks.order_service.model.Order;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+/**
+ * The request mixes the load generator can run, all through the gateway. Reads pick random ids from
+ * users and orders created up front, so they spread over the data set instead of hitting one document.
+ */
+public final class Scenarios {
+
+    public static final List<String> NAMES = List.of("create-order", "get-order", "customer-orders", "get-user",
+            "user-overview");
+
+    // How to issue one request of the scenario
+    public record Scenario(String name, Function<LoadClient, Mono<LoadClient.Response>> request) {
+    }
+
+    public record SeedData(List<String> userIds, List<String> orderIds) {
+
+        // Through the same API the scenarios use, so it also checks that the stack is up
+        public static SeedData create(LoadClient client, LoadOptions options) {
+            List<String> users = Flux.range(0, options.seedUsers())
+                    .flatMap(i -> client.post("/api/users",
+                            Map.of("name", "Load User " + i, "email", "load-user-" + i + "@example.com")), 16)
+                    .map(client::id)
+                    .collectList()
+                    .block();
+            List<String> orders = Flux.range(0, options.seedOrders())
+                    .flatMap(i -> client.post("/api/orders", order(pick(users), options.items())), 16)
+                    .map(client::id)
+                    .collectList()
+                    .block();
+            return new SeedData(users, orders);
+        }
+    }
+
+    private Scenarios() {
+    }
+
+    public static Map<String, Scenario> all(SeedData seed, int items) {
+        Map<String, Scenario> scenarios = new LinkedHashMap<>();
+        add(scenarios, "create-order", client -> client.post("/api/orders", order(pick(seed.userIds()), items)));
+        add(scenarios, "get-order", client -> client.get("/api/orders/" + pick(seed.orderIds())));
+        add(scenarios, "customer-orders",
+                client -> client.get("/api/orders/customer/" + pick(seed.userIds()) + "?size=20&view=summary"));
+        add(scenarios, "get-user", client -> client.get("/api/users/" + pick(seed.userIds())));
+        add(scenarios, "user-overview",
+                client -> client.get("/api/composite/users/" + pick(seed.userIds()) + "/overview"));
+        return scenarios;
+    }
+
+    private static void add(Map<String, Scenario> scenarios, String name,
+                            Function<LoadClient, Mono<LoadClient.Response>> request) {
+        scenarios.put(name, new Scenario(name, request));
+    }
+
+    static Order order(String customerId, int items) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Order.OrderItem> lines = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            int product = random.nextInt(10_000);
+            lines.add(new Order.OrderItem("product-" + product, "Product " + product, random.nextInt(1, 5),
+                    BigDecimal.valueOf(random.nextLong(100, 100_000), 2), null));
+        }
+        Order order = new Order();
+        order.setCustomerId(customerId);
+        order.setCustomerName("Load Customer");
+        order.setEmail("load-customer@example.com");
+        order.setItems(lines);
+        return order;
+    }
+
+    private static String pick(List<String> ids) {
+        return ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+    }
+}
@@ -0,0 +1,48 @@
+#!/usr/bin/env bash
+# Cold start of one service built with -Paot, as a plain JVM, with AOT initializers, and with AOT plus
+# the CDS archive. Prints the mean "Started ... in" time and the resident set size right after startup.
+# Needs the same environment as a normal start (Consul, MongoDB for the services).
+#
+#   mvn -Paot -pl order-service -am package -DskipTests
+#   perf/startup.sh order-service 5
+set -euo pipefail
+
+module=${1:?usage: perf/startup.sh <module> [runs]}
+runs=${2:-5}
+[[ -d "$module" ]] || { echo "No module $module" >&2; exit 1; }
+# Absolute, like the training run that recorded the archive: CDS rejects it for any other class path
+app_dir="$(cd "$module" && pwd)/target/app"
+jar=$(find "$app_dir" -maxdepth 1 -name '*.jar' 2>/dev/null | head -n 1 || true)
+archive="$app_dir/application.jsa"
+[[ -f "$jar" && -f "$archive" ]] || { echo "Build $module with -Paot first" >&2; exit 1; }
+
+measure() {
+  local mode=$1; shift
+  local total_time=0 total_rss=0
+  for _ in $(seq "$runs"); do
+    local log; log=$(mktemp)
+    java "$@" -jar "$jar" --server.port=0 >"$log" 2>&1 &
+    local pid=$!
+    until grep -q "Started .* in " "$log"; do
+      if ! kill -0 "$pid" 2>/dev/null || grep -q "Application run failed" "$log"; then
+        kill "$pid" 2>/dev/null || true
+        cat "$log" >&2; exit 1
+      fi
+      sleep 0.1
+    done
+    local started rss
+    started=$(grep -o "Started .* in [0-9.]* seconds" "$log" | sed -E 's/.* in ([0-9.]+) seconds/\1/')
+    rss=$(ps -o rss= -p "$pid" | tr -d ' ')
+    kill "$pid"; wait "$pid" 2>/dev/null || true
+    rm -f "$log"
+    total_time=$(awk -v a="$total_time" -v b="$started" 'BEGIN { print a + b }')
+    total_rss=$((total_rss + rss))
+  done
+  printf "%-10s %10.3f s %10d MB\n" "$mode" "$(awk -v t="$total_time" -v n="$runs" 'BEGIN { print t / n }')" \
+    $((total_rss / runs / 1024))
+}
+
+printf "%-10s %12s %13s\n" "mode" "startup" "RSS"
+measure jvm
+measure aot -Dspring.aot.enabled=true
+measure aot+cds -Dspring.aot.enabled=true -XX:SharedArchiveFile="$archive"
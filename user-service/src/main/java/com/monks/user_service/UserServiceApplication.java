@@ -1,11 +1,16 @@
 package com.monks.user_service;
 
+import com.monks.user_service.config.UserRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
 @EnableDiscoveryClient
+@ConfigurationPropertiesScan
+@ImportRuntimeHints(UserRuntimeHints.class)
 public class UserServiceApplication {
 
 	public static void main(String[] args) {
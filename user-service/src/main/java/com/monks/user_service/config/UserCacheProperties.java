@@ -0,0 +1,13 @@
+package com.monks.user_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("users.cache")
+public record UserCacheProperties(
+        @DefaultValue("10000") long maxSize,
+        @DefaultValue("10m") Duration ttl,
+        @DefaultValue("true") boolean changeStreamEnabled) {
+}
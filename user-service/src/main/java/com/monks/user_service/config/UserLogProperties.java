@@ -0,0 +1,12 @@
+package com.monks.user_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * @param callerSampleRate share of requests, 0 to 1, whose caller is logged at DEBUG; keeps the log
+ *                         readable and cheap under load
+ */
+@ConfigurationProperties("users.logging")
+public record UserLogProperties(@DefaultValue("0.01") double callerSampleRate) {
+}
@@ -0,0 +1,18 @@
+package com.monks.user_service.config;
+
+import com.monks.security.SecurityRuntimeHints;
+import com.monks.user_service.model.User;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+// Reflection for native images on the Lombok User model, also read from change stream documents and the cache,
+// and on the security configuration
+public class UserRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), User.class);
+        SecurityRuntimeHints.registerSecurityConfig(hints, ResourceServerConfig.class);
+    }
+}
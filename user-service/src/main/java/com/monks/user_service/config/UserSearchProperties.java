@@ -0,0 +1,18 @@
+package com.monks.user_service.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("users.search")
+public record UserSearchProperties(
+        @DefaultValue("20") int defaultSize,
+        @DefaultValue("100") int maxSize) {
+
+    // Clamp a client supplied page size to the configured cap
+    public int pageSize(Integer requested) {
+        if (requested == null || requested <= 0) {
+            return defaultSize;
+        }
+        return Math.min(requested, maxSize);
+    }
+}
@@ -0,0 +1,18 @@
+package com.monks.user_service.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import reactor.core.publisher.Mono;
+
+@RestControllerAdvice
+public class ApiExceptionHandler {
+
+    // Malformed cursors, missing search parameters and similar client mistakes
+    @ExceptionHandler(IllegalArgumentException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Mono<String> handleBadRequest(IllegalArgumentException ex) {
+        return Mono.just(ex.getMessage());
+    }
+}
@@ -1,14 +1,25 @@
 package com.monks.user_service.controller;
 
+import com.monks.user_service.config.UserLogProperties;
+import com.monks.user_service.config.UserSearchProperties;
 import com.monks.user_service.model.User;
+import com.monks.user_service.model.UserPage;
+import com.monks.user_service.repository.UserCursor;
 import com.monks.user_service.repository.UserRepository;
+import com.monks.user_service.service.UserService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.concurrent.ThreadLocalRandom;
+
+@Slf4j
 @RestController
 @RequestMapping("/api/users")
 @RequiredArgsConstructor
@@ -16,30 +27,66 @@ public class UserController {
 
 
     private final UserRepository userRepository;
+    private final UserService userService;
+    private final UserSearchProperties search;
+    private final UserLogProperties logging;
 
     @GetMapping()
     public Flux<User> getAllUsers(@AuthenticationPrincipal Jwt jwt) {
-        System.out.println("Jwt Claims : " + jwt.getClaims());
-        return userRepository.findAll();
+        logCaller(jwt, "list-users");
+        return userRepository.listAll();
     }
 
     @GetMapping("/{id}")
-    public Mono<User> getUserById(@AuthenticationPrincipal Jwt jwt, @PathVariable String id) {
-        return userRepository.findById(id);
+    public Mono<ResponseEntity<User>> getUserById(@AuthenticationPrincipal Jwt jwt, @PathVariable String id) {
+        // A matching If-None-Match gets an empty 304 from the ResponseEntity handler
+        return userService.findById(id).map(user -> versioned(user.getVersion()).body(user));
     }
 
-    @GetMapping("/{name}")
-    public Flux<User> getUserByName(@AuthenticationPrincipal Jwt jwt, @PathVariable String name) {
-        return userRepository.findByName(name);
+    // Exact or prefix name match, or exact email match, served from indexes one page at a time
+    @GetMapping("/search")
+    public Mono<UserPage> searchUsers(@AuthenticationPrincipal Jwt jwt,
+                                      @RequestParam(required = false) String name,
+                                      @RequestParam(defaultValue = "false") boolean prefix,
+                                      @RequestParam(required = false) String email,
+                                      @RequestParam(required = false) String cursor,
+                                      @RequestParam(required = false) Integer size) {
+        if ((name == null) == (email == null)) {
+            throw new IllegalArgumentException("Exactly one of name or email is required");
+        }
+        int limit = search.pageSize(size);
+        UserCursor after = UserCursor.decode(cursor);
+        Flux<User> rows = name != null
+                ? userRepository.searchByName(name, prefix, after, limit + 1)
+                : userRepository.searchByEmail(email, after, limit + 1);
+        return UserPage.of(rows, limit);
     }
 
     @PostMapping
     public Mono<User> createUser(@RequestBody User user) {
-        return userRepository.save(user);
+        return userService.save(user);
     }
 
     @DeleteMapping("/{id}")
     public Mono<Void> deleteUserById(@AuthenticationPrincipal Jwt jwt, @PathVariable String id) {
-        return userRepository.deleteById(id);
+        return userService.deleteById(id);
+    }
+
+    // A sample of callers as key-value pairs, so structured log formats get them as fields; never the raw token
+    private void logCaller(Jwt jwt, String operation) {
+        if (log.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < logging.callerSampleRate()) {
+            log.atDebug()
+                    .addKeyValue("operation", operation)
+                    .addKeyValue("subject", jwt.getSubject())
+                    .addKeyValue("audience", jwt.getAudience())
+                    .addKeyValue("scope", jwt.getClaims().get("scope"))
+                    .log("Caller of {}", operation);
+        }
+    }
+
+    // ETag from the document version; private, no-cache keeps shared caches other than the gateway out
+    private static ResponseEntity.BodyBuilder versioned(Long version) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().cacheControl(CacheControl.noCache().cachePrivate());
+        return version == null ? builder : builder.eTag(String.valueOf(version));
     }
-}
\ No newline at end of file
+}
@@ -2,13 +2,23 @@ package com.monks.user_service.model;
 
 import lombok.Data;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
 @Document(collection = "users")
+// Back the (name, id) ordered search endpoint
+@CompoundIndexes({
+        @CompoundIndex(name = "name_id", def = "{'name': 1, '_id': 1}"),
+        @CompoundIndex(name = "email_name_id", def = "{'email': 1, 'name': 1, '_id': 1}")
+})
 public class User {
     @Id
     private String id;
     private String name;
     private String email;
+    @Version
+    private Long version; // sent as the ETag of GET /api/users/{id}
 }
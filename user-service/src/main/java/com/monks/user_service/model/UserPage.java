@@ -0,0 +1,24 @@
+package com.monks.user_service.model;
+
+import com.monks.user_service.repository.UserCursor;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public record UserPage(List<User> items, String nextCursor) {
+
+    /**
+     * Collects a page from {@code rows}, which must have been queried with {@code limit + 1}
+     * so the extra row tells us whether another page exists.
+     */
+    public static Mono<UserPage> of(Flux<User> rows, int limit) {
+        return rows.collectList().map(list -> {
+            if (list.size() <= limit) {
+                return new UserPage(list, null);
+            }
+            List<User> items = list.subList(0, limit);
+            return new UserPage(items, UserCursor.of(items.get(limit - 1)).encode());
+        });
+    }
+}
@@ -0,0 +1,53 @@
+package com.monks.user_service.repository;
+
+import com.monks.user_service.model.User;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Keyset position in the (name asc, id asc) ordering of search results.
+ * Serialized as an opaque base64url token so clients never depend on its layout.
+ */
+public record UserCursor(String name, String id) {
+
+    public static final Sort SORT = Sort.by(Sort.Direction.ASC, "name", "id");
+
+    public static UserCursor of(User user) {
+        return new UserCursor(user.getName(), user.getId());
+    }
+
+    public static UserCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            return separator < 0 ? new UserCursor(null, raw)
+                    : new UserCursor(raw.substring(separator + 1), raw.substring(0, separator));
+        } catch (RuntimeException ex) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, ex);
+        }
+    }
+
+    // id first: ObjectId hex never contains the separator, names may
+    public String encode() {
+        String raw = name == null ? id : id + ":" + name;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Everything strictly after this position in SORT order; Mongo sorts missing names first
+    public Criteria toCriteria() {
+        if (name == null) {
+            return new Criteria().orOperator(
+                    Criteria.where("name").ne(null),
+                    Criteria.where("name").is(null).and("id").gt(id));
+        }
+        return new Criteria().orOperator(
+                Criteria.where("name").gt(name),
+                Criteria.where("name").is(name).and("id").gt(id));
+    }
+}
@@ -1,11 +1,34 @@
 package com.monks.user_service.repository;
 
 import com.monks.user_service.model.User;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 
+import java.util.regex.Pattern;
+
 @Repository
-public interface UserRepository extends ReactiveMongoRepository<User, String> {
-    Flux<User> findByName(String name);
+public interface UserRepository extends ReactiveMongoRepository<User, String>, UserSearchRepository {
+
+    // The whole collection, read like the other list queries
+    default Flux<User> listAll() {
+        return search(null, null, 0);
+    }
+
+    // Anchored, case-sensitive prefix regexes are answered from the name index as a range scan
+    default Flux<User> searchByName(String name, boolean prefix, UserCursor after, int limit) {
+        Criteria filter = prefix
+                ? Criteria.where("name").regex("^" + escapeRegex(name))
+                : Criteria.where("name").is(name);
+        return search(filter, after, limit);
+    }
+
+    default Flux<User> searchByEmail(String email, UserCursor after, int limit) {
+        return search(Criteria.where("email").is(email), after, limit);
+    }
+
+    private static String escapeRegex(String literal) {
+        return Pattern.compile("[\\\\^$.|?*+()\\[\\]{}]").matcher(literal).replaceAll("\\\\$0");
+    }
 }
@@ -0,0 +1,14 @@
+package com.monks.user_service.repository;
+
+import com.monks.user_service.model.User;
+import org.springframework.data.mongodb.core.query.Criteria;
+import reactor.core.publisher.Flux;
+
+public interface UserSearchRepository {
+
+    /**
+     * Reads users matching {@code filter} in {@link UserCursor#SORT} order, starting after {@code after}.
+     * A {@code null} filter matches every user, a {@code limit} of 0 reads every remaining match.
+     */
+    Flux<User> search(Criteria filter, UserCursor after, int limit);
+}
@@ -0,0 +1,31 @@
+package com.monks.user_service.repository;
+
+import com.monks.mongo.MongoClientProperties;
+import com.monks.user_service.model.User;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import reactor.core.publisher.Flux;
+
+@RequiredArgsConstructor
+public class UserSearchRepositoryImpl implements UserSearchRepository {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final MongoClientProperties mongo;
+
+    @Override
+    public Flux<User> search(Criteria filter, UserCursor after, int limit) {
+        Query query = new Query()
+                .with(UserCursor.SORT)
+                .limit(limit)
+                .withReadPreference(mongo.listReadPreference()); // may trail the primary by the replication lag
+        if (filter != null) {
+            query.addCriteria(filter);
+        }
+        if (after != null) {
+            query.addCriteria(after.toCriteria());
+        }
+        return mongoTemplate.find(query, User.class);
+    }
+}
@@ -0,0 +1,91 @@
+package com.monks.user_service.service;
+
+import com.monks.mongo.MongoErrors;
+import com.monks.user_service.config.UserCacheProperties;
+import com.monks.user_service.model.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.ChangeStreamEvent;
+import org.springframework.data.mongodb.core.ChangeStreamOptions;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+
+/**
+ * Tails the users collection so writes made by other instances evict our cached entries. After a failure
+ * the stream resumes after the last event it saw; if that is no longer possible the whole cache is dropped.
+ * Change streams need a replica set; against a standalone server this logs once and the cache falls back
+ * to its TTL.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserChangeStreamListener implements SmartLifecycle {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final UserService userService;
+    private final UserCacheProperties properties;
+    private volatile Disposable subscription;
+    private volatile BsonValue resumeToken;
+
+    @Override
+    public void start() {
+        if (!properties.changeStreamEnabled()) {
+            return;
+        }
+        String collection = mongoTemplate.getCollectionName(User.class);
+        subscription = Flux.defer(() -> mongoTemplate.changeStream(collection, options(), Document.class))
+                .doOnNext(this::evict)
+                .doOnNext(event -> resumeToken = event.getResumeToken())
+                .doOnError(ex -> MongoErrors.hasCode(ex, MongoErrors.CHANGE_STREAM_HISTORY_LOST), ex -> {
+                    log.warn("User change stream fell behind the oplog, dropping the whole cache");
+                    resumeToken = null;
+                    userService.invalidateAll();
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofMinutes(1))
+                        .filter(ex -> !MongoErrors.hasCode(ex, MongoErrors.NOT_A_REPLICA_SET))
+                        .doBeforeRetry(retry -> log.warn("User change stream failed, resuming: {}",
+                                retry.failure().getMessage())))
+                .subscribe(event -> { }, ex -> log.warn("User change stream stopped, cache relies on TTL: {}",
+                        ex.getMessage()));
+    }
+
+    private ChangeStreamOptions options() {
+        BsonValue token = resumeToken;
+        return token == null ? ChangeStreamOptions.empty() : ChangeStreamOptions.builder().resumeAfter(token).build();
+    }
+
+    private void evict(ChangeStreamEvent<Document> event) {
+        BsonDocument key = event.getRaw() == null ? null : event.getRaw().getDocumentKey();
+        BsonValue id = key == null ? null : key.get("_id");
+        if (id != null && id.isObjectId()) {
+            userService.invalidate(id.asObjectId().getValue().toHexString());
+        } else if (id != null && id.isString()) {
+            userService.invalidate(id.asString().getValue());
+        } else {
+            userService.invalidateAll(); // drop/rename/invalidate events carry no document key
+        }
+    }
+
+    @Override
+    public void stop() {
+        Disposable running = subscription;
+        if (running != null) {
+            running.dispose();
+            subscription = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return subscription != null;
+    }
+}
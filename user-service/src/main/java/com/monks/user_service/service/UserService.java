@@ -0,0 +1,57 @@
+package com.monks.user_service.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.monks.user_service.config.UserCacheProperties;
+import com.monks.user_service.model.User;
+import com.monks.user_service.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read-through cache in front of {@link UserRepository#findById}. Concurrent misses for the same id share one
+ * Mongo query; lookups that find nothing are not cached. Writes through this service invalidate
+ * locally, writes from other instances arrive through {@link UserChangeStreamListener}.
+ */
+@Service
+public class UserService {
+
+    private final UserRepository userRepository;
+    private final AsyncCache<String, User> byId;
+
+    public UserService(UserRepository userRepository, UserCacheProperties properties, MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(properties.maxSize())
+                .expireAfterWrite(properties.ttl())
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "users.byId");
+    }
+
+    public Mono<User> findById(String id) {
+        // suppressCancel: one caller going away must not cancel the load other callers wait on
+        return Mono.defer(() -> Mono.fromFuture(
+                byId.get(id, (key, executor) -> userRepository.findById(key).toFuture()), true));
+    }
+
+    public Mono<User> save(User user) {
+        return userRepository.save(user)
+                .doOnNext(saved -> invalidate(saved.getId()));
+    }
+
+    public Mono<Void> deleteById(String id) {
+        return userRepository.deleteById(id)
+                .doOnSuccess(done -> invalidate(id));
+    }
+
+    public void invalidate(String id) {
+        byId.synchronous().invalidate(id);
+    }
+
+    public void invalidateAll() {
+        byId.synchronous().invalidateAll();
+    }
+}
@@ -0,0 +1,130 @@
+package com.monks.user_service.controller;
+
+import com.monks.user_service.config.UserCacheProperties;
+import com.monks.user_service.config.UserLogProperties;
+import com.monks.user_service.config.UserSearchProperties;
+import com.monks.user_service.model.User;
+import com.monks.user_service.repository.UserRepository;
+import com.monks.user_service.service.UserService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.webflux.test.autoconfigure.WebFluxTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.blockhound.BlockHound;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.csrf;
+import static org.springframework.security.test.web.reactive.server.SecurityMockServerConfigurers.mockJwt;
+
+/**
+ * WebTestClient runs the handler chain on a parallel scheduler thread, which BlockHound treats like a Netty
+ * event loop. The real UserService is used so its cache lookups are covered too.
+ */
+@WebFluxTest(UserController.class)
+@Import(UserService.class)
+class UserControllerBlockingTest {
+
+    @Autowired
+    private WebTestClient client;
+
+    @Autowired
+    private UserService userService;
+
+    @MockitoBean
+    private UserRepository userRepository;
+
+    @BeforeAll
+    static void installBlockHound() {
+        BlockHound.install();
+    }
+
+    @BeforeEach
+    void users() {
+        userService.invalidateAll(); // the context, and with it the cache, is shared between tests
+        User user = new User();
+        user.setId("u-1");
+        user.setName("Ada");
+        user.setEmail("ada@example.com");
+        user.setVersion(2L);
+        given(userRepository.findById("u-1")).willReturn(Mono.just(user));
+        given(userRepository.listAll()).willReturn(Flux.just(user));
+        given(userRepository.searchByName(eq("Ada"), anyBoolean(), any(), anyInt())).willReturn(Flux.just(user));
+        given(userRepository.save(any(User.class))).willAnswer(call -> Mono.just(call.getArgument(0)));
+        given(userRepository.deleteById("u-1")).willReturn(Mono.empty());
+    }
+
+    @Test
+    void listDoesNotBlock() {
+        client.mutateWith(mockJwt()).get().uri("/api/users")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(User.class).hasSize(1);
+    }
+
+    @Test
+    void cachedLookupDoesNotBlock() {
+        for (int i = 0; i < 2; i++) { // a miss that loads, then a hit
+            client.mutateWith(mockJwt()).get().uri("/api/users/u-1")
+                    .exchange()
+                    .expectStatus().isOk()
+                    .expectHeader().valueEquals("ETag", "\"2\"");
+        }
+    }
+
+    @Test
+    void searchDoesNotBlock() {
+        client.mutateWith(mockJwt()).get().uri("/api/users/search?name=Ada")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.items[0].id").isEqualTo("u-1");
+    }
+
+    @Test
+    void writesInvalidateWithoutBlocking() {
+        lookup();
+        client.mutateWith(mockJwt()).mutateWith(csrf()).post().uri("/api/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"id\":\"u-1\",\"name\":\"Ada\",\"email\":\"ada@example.org\"}")
+                .exchange()
+                .expectStatus().isOk();
+        lookup();
+        client.mutateWith(mockJwt()).mutateWith(csrf()).delete().uri("/api/users/u-1")
+                .exchange()
+                .expectStatus().is2xxSuccessful();
+        lookup();
+
+        verify(userRepository, times(3)).findById("u-1"); // each write dropped the cached user
+    }
+
+    private void lookup() {
+        client.mutateWith(mockJwt()).get().uri("/api/users/u-1").exchange().expectStatus().isOk();
+    }
+
+    @TestConfiguration
+    @EnableConfigurationProperties({UserSearchProperties.class, UserLogProperties.class, UserCacheProperties.class})
+    static class Properties {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}